@@ -46,13 +46,16 @@ dependencies {
     implementation("androidx.constraintlayout:constraintlayout:2.1.4")
     implementation("com.google.android.material:material:1.9.0")
     implementation("androidx.appcompat:appcompat:1.6.1")
-    
-    implementation("com.google.code.gson:gson:2.10.1")
 
     // Room Database dependencies
     implementation("androidx.room:room-runtime:2.6.1")
     implementation("androidx.room:room-ktx:2.6.1")
+    implementation("androidx.room:room-paging:2.6.1")
     kapt("androidx.room:room-compiler:2.6.1")
+
+    // Paging 3 for the home video grid
+    implementation("androidx.paging:paging-runtime:3.2.1")
+    implementation("androidx.lifecycle:lifecycle-viewmodel-ktx:2.6.2")
     
     // ExoPlayer Media3 dependencies
     implementation("androidx.media3:media3-exoplayer:1.4.1")
@@ -1,25 +1,78 @@
 package com.nidoham.streamlyvid.database;
 
 import android.content.Context;
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 @Database(
-    entities = {RecentlyPlayedEntity.class},
-    version = 1,
+    entities = {RecentlyPlayedEntity.class, VideoEntity.class, VideoFtsEntity.class, SearchHistoryEntity.class},
+    version = 4,
     exportSchema = false
 )
 public abstract class AppDatabase extends RoomDatabase {
     
     public abstract RecentlyPlayedDao recentlyPlayedDao();
+    public abstract VideoDao videoDao();
+    public abstract SearchHistoryDao searchHistoryDao();
     
     private static volatile AppDatabase INSTANCE;
     private static final int NUMBER_OF_THREADS = 4;
     public static final ExecutorService databaseWriteExecutor = 
         Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+
+    // Version 2 adds the persisted video catalog
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `videos` (" +
+                    "`id` INTEGER NOT NULL, `title` TEXT, `displayName` TEXT, `data` TEXT, " +
+                    "`size` INTEGER NOT NULL, `duration` INTEGER NOT NULL, `mimeType` TEXT, " +
+                    "`dateAdded` INTEGER NOT NULL, `dateModified` INTEGER NOT NULL, " +
+                    "`bucketDisplayName` TEXT, `bucketId` TEXT, " +
+                    "`width` INTEGER NOT NULL, `height` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_videos_dateAdded` ON `videos` (`dateAdded`)");
+        }
+    };
+
+    // Version 3 adds the full-text index over the catalog, with the triggers Room would create
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `video_fts` USING FTS4(" +
+                    "`title` TEXT, `displayName` TEXT, `bucketDisplayName` TEXT, " +
+                    "tokenize=unicode61, content=`videos`)");
+            String insertRow = "INSERT INTO `video_fts`(`docid`, `title`, `displayName`, `bucketDisplayName`) " +
+                    "VALUES (NEW.`rowid`, NEW.`title`, NEW.`displayName`, NEW.`bucketDisplayName`); END";
+            String deleteRow = "DELETE FROM `video_fts` WHERE `docid`=OLD.`rowid`; END";
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_video_fts_BEFORE_UPDATE " +
+                    "BEFORE UPDATE ON `videos` BEGIN " + deleteRow);
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_video_fts_BEFORE_DELETE " +
+                    "BEFORE DELETE ON `videos` BEGIN " + deleteRow);
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_video_fts_AFTER_UPDATE " +
+                    "AFTER UPDATE ON `videos` BEGIN " + insertRow);
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_video_fts_AFTER_INSERT " +
+                    "AFTER INSERT ON `videos` BEGIN " + insertRow);
+            // Index the rows already in the catalog
+            database.execSQL("INSERT INTO `video_fts`(`video_fts`) VALUES('rebuild')");
+        }
+    };
+
+    // Version 4 moves search history out of SharedPreferences
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `search_history` (" +
+                    "`query` TEXT NOT NULL, `lastUsed` INTEGER NOT NULL, `useCount` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`query`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_search_history_lastUsed` ON `search_history` (`lastUsed`)");
+        }
+    };
     
     public static AppDatabase getDatabase(final Context context) {
         if (INSTANCE == null) {
@@ -29,10 +82,10 @@ public abstract class AppDatabase extends RoomDatabase {
                         context.getApplicationContext(),
                         AppDatabase.class,
                         "streamly_database"
-                    ).build();
+                    ).addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4).build();
                 }
             }
         }
         return INSTANCE;
     }
-}
\ No newline at end of file
+}
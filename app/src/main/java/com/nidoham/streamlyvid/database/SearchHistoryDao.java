@@ -0,0 +1,47 @@
+package com.nidoham.streamlyvid.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import java.util.List;
+
+@Dao
+public interface SearchHistoryDao {
+
+    // Ties on lastUsed are broken by query so reads and trims agree on which rows are newest
+    @Query("SELECT * FROM search_history ORDER BY lastUsed DESC, `query` LIMIT :limit")
+    List<SearchHistoryEntity> getRecentQueries(int limit);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long insertQuery(SearchHistoryEntity entry);
+
+    @Query("UPDATE search_history SET lastUsed = :lastUsed, useCount = useCount + 1 WHERE `query` = :query")
+    int touchQuery(String query, long lastUsed);
+
+    @Query("DELETE FROM search_history WHERE `query` = :query")
+    void deleteQuery(String query);
+
+    @Query("DELETE FROM search_history")
+    void clearAll();
+
+    @Query("DELETE FROM search_history WHERE `query` NOT IN " +
+            "(SELECT `query` FROM search_history ORDER BY lastUsed DESC, `query` LIMIT :limit)")
+    void limitQueries(int limit);
+
+    /**
+     * Records one use of query: bumps its count and time, or inserts it with a count of 1.
+     * Both paths are single primary-key operations (UPSERT syntax needs SQLite 3.24, API 30).
+     *
+     * @return true if the query was new
+     */
+    @Transaction
+    default boolean recordQuery(String query, long now) {
+        if (touchQuery(query, now) > 0) {
+            return false;
+        }
+        insertQuery(new SearchHistoryEntity(query, now, 1));
+        return true;
+    }
+}
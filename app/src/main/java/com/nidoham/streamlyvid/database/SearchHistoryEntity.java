@@ -0,0 +1,45 @@
+package com.nidoham.streamlyvid.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+@Entity(tableName = "search_history", indices = {@Index("lastUsed")})
+public class SearchHistoryEntity {
+    @PrimaryKey
+    @NonNull
+    private String query = "";
+
+    private long lastUsed;
+    private int useCount;
+
+    public SearchHistoryEntity() {}
+
+    public SearchHistoryEntity(@NonNull String query, long lastUsed, int useCount) {
+        this.query = query;
+        this.lastUsed = lastUsed;
+        this.useCount = useCount;
+    }
+
+    // Getters and Setters
+    @NonNull
+    public String getQuery() { return query; }
+    public void setQuery(@NonNull String query) { this.query = query; }
+
+    public long getLastUsed() { return lastUsed; }
+    public void setLastUsed(long lastUsed) { this.lastUsed = lastUsed; }
+
+    public int getUseCount() { return useCount; }
+    public void setUseCount(int useCount) { this.useCount = useCount; }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "SearchHistoryEntity{" +
+                "query='" + query + '\'' +
+                ", lastUsed=" + lastUsed +
+                ", useCount=" + useCount +
+                '}';
+    }
+}
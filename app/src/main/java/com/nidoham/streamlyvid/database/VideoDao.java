@@ -0,0 +1,54 @@
+package com.nidoham.streamlyvid.database;
+
+import androidx.paging.PagingSource;
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.RawQuery;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import java.util.List;
+
+@Dao
+public interface VideoDao {
+
+    // Keep IN (...) lists below SQLite's bound-variable limit on older devices
+    int MAX_BATCH_SIZE = 500;
+
+    @Query("SELECT * FROM videos ORDER BY dateAdded DESC")
+    List<VideoEntity> getAllVideos();
+
+    // Sort order is supplied as SQL so paging never materializes the whole library
+    @RawQuery(observedEntities = {VideoEntity.class, RecentlyPlayedEntity.class})
+    PagingSource<Integer, VideoEntity> getPagedVideos(SupportSQLiteQuery query);
+
+    // Upsert rather than REPLACE: a REPLACE delete skips the FTS sync triggers on videos
+    @Upsert
+    void upsertVideos(List<VideoEntity> videos);
+
+    // matchQuery uses FTS4 MATCH syntax over title, displayName and bucketDisplayName
+    @Query("SELECT videos.* FROM videos JOIN video_fts ON videos.rowid = video_fts.rowid " +
+            "WHERE video_fts MATCH :matchQuery")
+    List<VideoEntity> searchVideos(String matchQuery);
+
+    @Query("DELETE FROM videos WHERE id IN (:videoIds)")
+    void deleteVideos(List<Long> videoIds);
+
+    @Query("DELETE FROM videos")
+    void clearAllVideos();
+
+    @Query("SELECT COUNT(*) FROM videos")
+    int getVideoCount();
+
+    // Applies one reconciliation pass atomically so readers never see a half-synced catalog
+    @Transaction
+    default void applyChanges(List<VideoEntity> upserts, List<Long> removedIds) {
+        if (!upserts.isEmpty()) {
+            upsertVideos(upserts);
+        }
+        for (int start = 0; start < removedIds.size(); start += MAX_BATCH_SIZE) {
+            int end = Math.min(start + MAX_BATCH_SIZE, removedIds.size());
+            deleteVideos(removedIds.subList(start, end));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.nidoham.streamlyvid.database;
+
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+import androidx.annotation.NonNull;
+import com.nidoham.streamlyvid.model.VideoModel;
+
+@Entity(tableName = "videos", indices = {@Index("dateAdded")})
+public class VideoEntity {
+    @PrimaryKey
+    private long id; // MediaStore _ID
+
+    private String title;
+    private String displayName;
+    private String data; // File path
+    private long size;
+    private long duration;
+    private String mimeType;
+    private long dateAdded;
+    private long dateModified;
+    private String bucketDisplayName; // Folder name
+    private String bucketId;
+    private int width;
+    private int height;
+
+    public VideoEntity() {}
+
+    // Getters and Setters
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDisplayName() { return displayName; }
+    public void setDisplayName(String displayName) { this.displayName = displayName; }
+
+    public String getData() { return data; }
+    public void setData(String data) { this.data = data; }
+
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+
+    public long getDuration() { return duration; }
+    public void setDuration(long duration) { this.duration = duration; }
+
+    public String getMimeType() { return mimeType; }
+    public void setMimeType(String mimeType) { this.mimeType = mimeType; }
+
+    public long getDateAdded() { return dateAdded; }
+    public void setDateAdded(long dateAdded) { this.dateAdded = dateAdded; }
+
+    public long getDateModified() { return dateModified; }
+    public void setDateModified(long dateModified) { this.dateModified = dateModified; }
+
+    public String getBucketDisplayName() { return bucketDisplayName; }
+    public void setBucketDisplayName(String bucketDisplayName) { this.bucketDisplayName = bucketDisplayName; }
+
+    public String getBucketId() { return bucketId; }
+    public void setBucketId(String bucketId) { this.bucketId = bucketId; }
+
+    public int getWidth() { return width; }
+    public void setWidth(int width) { this.width = width; }
+
+    public int getHeight() { return height; }
+    public void setHeight(int height) { this.height = height; }
+
+    // Conversion methods
+    public static VideoEntity fromVideoModel(VideoModel video) {
+        VideoEntity entity = new VideoEntity();
+        entity.setId(video.getId());
+        entity.setTitle(video.getTitle());
+        entity.setDisplayName(video.getDisplayName());
+        entity.setData(video.getData());
+        entity.setSize(video.getSize());
+        entity.setDuration(video.getDuration());
+        entity.setMimeType(video.getMimeType());
+        entity.setDateAdded(video.getDateAdded());
+        entity.setDateModified(video.getDateModified());
+        entity.setBucketDisplayName(video.getBucketDisplayName());
+        entity.setBucketId(video.getBucketId());
+        entity.setWidth(video.getWidth());
+        entity.setHeight(video.getHeight());
+        return entity;
+    }
+
+    // The content Uri is derived lazily from the id by VideoModel.getUri()
+    public VideoModel toVideoModel() {
+        return new VideoModel(id, title, displayName, data, null, size, duration,
+                mimeType, dateAdded, dateModified, bucketDisplayName, bucketId, width, height);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "VideoEntity{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", displayName='" + displayName + '\'' +
+                ", dateModified=" + dateModified +
+                '}';
+    }
+}
@@ -0,0 +1,29 @@
+package com.nidoham.streamlyvid.database;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * Full-text index over the searchable names in {@code videos}. It is an external-content
+ * table: the text stays in {@code videos} and Room's triggers keep the index in sync
+ * with every insert, update and delete there, so it never needs building at startup.
+ */
+@Fts4(contentEntity = VideoEntity.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "video_fts")
+public class VideoFtsEntity {
+    private String title;
+    private String displayName;
+    private String bucketDisplayName;
+
+    public VideoFtsEntity() {}
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDisplayName() { return displayName; }
+    public void setDisplayName(String displayName) { this.displayName = displayName; }
+
+    public String getBucketDisplayName() { return bucketDisplayName; }
+    public void setBucketDisplayName(String bucketDisplayName) { this.bucketDisplayName = bucketDisplayName; }
+}
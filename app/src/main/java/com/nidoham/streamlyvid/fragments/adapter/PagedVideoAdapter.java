@@ -0,0 +1,53 @@
+package com.nidoham.streamlyvid.adapter;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+
+import com.nidoham.streamlyvid.databinding.ItemVideoBinding;
+import com.nidoham.streamlyvid.model.VideoModel;
+
+/**
+ * Adapter for the home video grid. Only the pages around the visible cells are held in
+ * memory; rows that are not loaded yet are bound as placeholders. Updates are diffed by
+ * video id, so sort and filter changes animate as moves and unchanged cells are not rebound.
+ */
+public class PagedVideoAdapter extends PagingDataAdapter<VideoModel, VideoViewHolder> {
+
+    private final Context context;
+    private final OnVideoClickListener listener;
+
+    public interface OnVideoClickListener {
+        void onVideoClick(VideoModel video, int position);
+        void onVideoLongClick(VideoModel video, int position);
+        void onMoreOptionsClick(VideoModel video, int position, View anchorView);
+    }
+
+    public PagedVideoAdapter(Context context, OnVideoClickListener listener) {
+        super(new VideoDiffCallback());
+        this.context = context;
+        this.listener = listener;
+    }
+
+    @NonNull
+    @Override
+    public VideoViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        ItemVideoBinding binding = ItemVideoBinding.inflate(
+            LayoutInflater.from(parent.getContext()), parent, false);
+        return new VideoViewHolder(binding, context, listener);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull VideoViewHolder holder, int position) {
+        VideoModel video = getItem(position);
+        if (video == null) {
+            holder.bindPlaceholder();
+        } else {
+            holder.bind(video, position);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.nidoham.streamlyvid.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.nidoham.streamlyvid.model.VideoModel;
+
+// Items are keyed by MediaStore id; a cell is only rebound when its displayed fields change
+public class VideoDiffCallback extends DiffUtil.ItemCallback<VideoModel> {
+
+    @Override
+    public boolean areItemsTheSame(@NonNull VideoModel oldItem, @NonNull VideoModel newItem) {
+        return oldItem.getId() == newItem.getId();
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull VideoModel oldItem, @NonNull VideoModel newItem) {
+        return oldItem.hasSameContent(newItem);
+    }
+}
@@ -0,0 +1,196 @@
+package com.nidoham.streamlyvid.adapter;
+
+import android.content.Context;
+import android.util.Log;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.signature.ObjectKey;
+import com.nidoham.streamlyvid.R;
+import com.nidoham.streamlyvid.databinding.ItemVideoBinding;
+import com.nidoham.streamlyvid.model.VideoModel;
+
+// One cell of the home video grid
+public class VideoViewHolder extends RecyclerView.ViewHolder {
+
+    private static final String TAG = "VideoViewHolder";
+
+    private final ItemVideoBinding binding;
+    private final Context context;
+    private final PagedVideoAdapter.OnVideoClickListener listener;
+    // Video version whose thumbnail is currently in the image view, so rebinding it skips Glide;
+    // a file changed in place keeps its id but gets a new dateModified
+    private long thumbnailVideoId = RecyclerView.NO_ID;
+    private long thumbnailDateModified = 0;
+
+    public VideoViewHolder(@NonNull ItemVideoBinding binding, Context context,
+                           PagedVideoAdapter.OnVideoClickListener listener) {
+        super(binding.getRoot());
+        this.binding = binding;
+        this.context = context;
+        this.listener = listener;
+    }
+
+    // Paging placeholder for a row that has not been loaded yet
+    public void bindPlaceholder() {
+        binding.titleTextView.setText("");
+        binding.durationTextView.setText("");
+        binding.sizeTextView.setText("");
+        binding.resolutionTextView.setText("");
+        if (binding.filePathTextView != null) {
+            binding.filePathTextView.setVisibility(View.GONE);
+        }
+        Glide.with(context).clear(binding.thumbnailImageView);
+        binding.thumbnailImageView.setImageResource(R.drawable.ic_video_placeholder);
+        thumbnailVideoId = RecyclerView.NO_ID;
+        
+        binding.getRoot().setOnClickListener(null);
+        binding.getRoot().setOnLongClickListener(null);
+        if (binding.playIconImageView != null) {
+            binding.playIconImageView.setOnClickListener(null);
+        }
+        if (binding.moreOptionsButton != null) {
+            binding.moreOptionsButton.setOnClickListener(null);
+        }
+    }
+
+    public void bind(VideoModel video, int position) {
+        if (video == null) {
+            Log.e(TAG, "Attempted to bind null video");
+            return;
+        }
+        
+        Log.d(TAG, "Binding video: " + video.getDisplayName() + " at position " + position);
+        
+        // Set video title - use title first, then displayName as fallback
+        String title = video.getTitle();
+        if (title == null || title.trim().isEmpty()) {
+            title = video.getDisplayName();
+        }
+        if (title == null || title.trim().isEmpty()) {
+            title = "Unknown Video";
+        }
+        binding.titleTextView.setText(title);
+        
+        // Set duration
+        String duration = video.getFormattedDuration();
+        binding.durationTextView.setText(duration != null ? duration : "00:00");
+        
+        // Set file size
+        String size = video.getFormattedSize();
+        binding.sizeTextView.setText(size != null ? size : "0 MB");
+        
+        // Set resolution
+        String resolution = video.getResolution();
+        if (resolution == null || resolution.trim().isEmpty()) {
+            resolution = video.getWidth() + "x" + video.getHeight();
+        }
+        binding.resolutionTextView.setText(resolution);
+        
+        // Set file path (using getData() method from VideoModel)
+        if (binding.filePathTextView != null) {
+            String path = video.getData(); // Use getData() instead of getPath()
+            if (path != null && !path.trim().isEmpty()) {
+                binding.filePathTextView.setText(path);
+                binding.filePathTextView.setVisibility(View.VISIBLE);
+            } else {
+                binding.filePathTextView.setVisibility(View.GONE);
+            }
+        }
+        
+        // Load thumbnail
+        loadThumbnail(video);
+        
+        // Set click listeners
+        setupClickListeners(video);
+    }
+
+    private void loadThumbnail(VideoModel video) {
+        if (thumbnailVideoId == video.getId() && thumbnailDateModified == video.getDateModified()) {
+            return;
+        }
+        thumbnailVideoId = video.getId();
+        thumbnailDateModified = video.getDateModified();
+
+        // Clear previous image to prevent recycling issues
+        Glide.with(context).clear(binding.thumbnailImageView);
+        
+        RequestOptions options = new RequestOptions()
+                .centerCrop()
+                .placeholder(R.drawable.ic_video_placeholder)
+                .error(R.drawable.ic_video_placeholder)
+                .diskCacheStrategy(DiskCacheStrategy.ALL)
+                .override(200, 120) // Optimize thumbnail size
+                .signature(new ObjectKey(video.getDateModified())) // Don't serve a cached frame of the old file
+                .dontAnimate(); // Disable animations for better performance
+
+        // Load thumbnail from video URI
+        if (video.getUri() != null) {
+            Log.d(TAG, "Loading thumbnail from URI: " + video.getUri());
+            Glide.with(context)
+                    .load(video.getUri())
+                    .apply(options)
+                    .into(binding.thumbnailImageView);
+        } else if (video.getData() != null) {
+            // Fallback to file path if URI is not available
+            Log.d(TAG, "Loading thumbnail from path: " + video.getData());
+            Glide.with(context)
+                    .load(video.getData())
+                    .apply(options)
+                    .into(binding.thumbnailImageView);
+        } else {
+            // Show placeholder if no source available
+            Log.d(TAG, "No thumbnail source, using placeholder");
+            binding.thumbnailImageView.setImageResource(R.drawable.ic_video_placeholder);
+        }
+    }
+
+    // Positions are read at click time: cells moved by a diff are not rebound
+    private void setupClickListeners(VideoModel video) {
+        // Main item click (play video)
+        binding.getRoot().setOnClickListener(v -> {
+            int position = getBindingAdapterPosition();
+            if (listener != null && position != RecyclerView.NO_POSITION) {
+                Log.d(TAG, "Video clicked: " + video.getDisplayName());
+                listener.onVideoClick(video, position);
+            }
+        });
+        
+        // Long click for selection/context menu
+        binding.getRoot().setOnLongClickListener(v -> {
+            int position = getBindingAdapterPosition();
+            if (listener != null && position != RecyclerView.NO_POSITION) {
+                Log.d(TAG, "Video long-clicked: " + video.getDisplayName());
+                listener.onVideoLongClick(video, position);
+            }
+            return true;
+        });
+        
+        // Play icon click (same as item click)
+        if (binding.playIconImageView != null) {
+            binding.playIconImageView.setOnClickListener(v -> {
+                int position = getBindingAdapterPosition();
+                if (listener != null && position != RecyclerView.NO_POSITION) {
+                    Log.d(TAG, "Play icon clicked: " + video.getDisplayName());
+                    listener.onVideoClick(video, position);
+                }
+            });
+        }
+        
+        // More options button click
+        if (binding.moreOptionsButton != null) {
+            binding.moreOptionsButton.setOnClickListener(v -> {
+                int position = getBindingAdapterPosition();
+                if (listener != null && position != RecyclerView.NO_POSITION) {
+                    Log.d(TAG, "More options clicked: " + video.getDisplayName());
+                    listener.onMoreOptionsClick(video, position, v);
+                }
+            });
+        }
+    }
+}
@@ -18,12 +18,13 @@ import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.nidoham.streamlyvid.PlayerActivity;
 import com.nidoham.streamlyvid.R;
-import com.nidoham.streamlyvid.adapter.VideoAdapter;
+import com.nidoham.streamlyvid.adapter.PagedVideoAdapter;
 import com.nidoham.streamlyvid.databinding.FragmentHomeVideoBinding;
 import com.nidoham.streamlyvid.model.VideoModel;
 import com.nidoham.streamlyvid.viewmodel.VideoViewModel;
@@ -31,17 +32,21 @@ import com.nidoham.streamlyvid.viewmodel.VideoViewModel;
 import java.util.ArrayList;
 import java.util.List;
 
-public class HomeVideoFragment extends Fragment implements VideoAdapter.OnVideoClickListener {
+import kotlin.Unit;
+
+public class HomeVideoFragment extends Fragment implements PagedVideoAdapter.OnVideoClickListener {
     
     private static final String TAG = "HomeVideoFragment";
     private static final int PERMISSION_REQUEST_CODE = 100;
+    // Videos on each side of the tapped one passed to the player; keeps the Intent well under the Binder limit
+    private static final int PLAYLIST_WINDOW = 100;
     
     // View Binding
     private FragmentHomeVideoBinding binding;
     
-    private VideoAdapter videoAdapter;
+    private PagedVideoAdapter videoAdapter;
     private VideoViewModel videoViewModel;
-    private List<VideoModel> videoList = new ArrayList<>();
+    private boolean isLoading = false;
 
     @Nullable
     @Override
@@ -59,9 +64,6 @@ public class HomeVideoFragment extends Fragment implements VideoAdapter.OnVideoC
         setupViewModel();
         setupClickListeners();
         
-        // Don't show toast here - videos haven't loaded yet
-        Log.d(TAG, "onCreateView: Initial video list size: " + videoList.size());
-        
         return binding.getRoot();
     }
 
@@ -79,8 +81,14 @@ public class HomeVideoFragment extends Fragment implements VideoAdapter.OnVideoC
         GridLayoutManager gridLayoutManager = new GridLayoutManager(getContext(), 2);
         binding.recyclerViewVideos.setLayoutManager(gridLayoutManager);
         
-        videoAdapter = new VideoAdapter(getContext(), videoList, this);
-        videoAdapter.setHasStableIds(true); // Enable stable IDs for better performance
+        // Paged adapter: only the pages around the visible cells are held in memory
+        videoAdapter = new PagedVideoAdapter(getContext(), this);
+        videoAdapter.addLoadStateListener(loadStates -> {
+            if (loadStates.getRefresh() instanceof LoadState.NotLoading) {
+                updateEmptyState();
+            }
+            return Unit.INSTANCE;
+        });
         binding.recyclerViewVideos.setAdapter(videoAdapter);
         
         // Add item decoration for spacing
@@ -99,25 +107,22 @@ public class HomeVideoFragment extends Fragment implements VideoAdapter.OnVideoC
         
         videoViewModel = new ViewModelProvider(this).get(VideoViewModel.class);
         
-        // Observe video list changes
-        videoViewModel.getAllVideos().observe(getViewLifecycleOwner(), videos -> {
-            Log.d(TAG, "Videos observed: " + (videos != null ? videos.size() : 0) + " videos");
-            if (videos != null) {
-                updateVideoList(videos);
-            } else {
-                Log.w(TAG, "Received null video list from ViewModel");
-                updateVideoList(new ArrayList<>());
-            }
+        // Observe paged videos from the catalog
+        videoViewModel.getPagedVideos().observe(getViewLifecycleOwner(), pagingData -> {
+            Log.d(TAG, "New paging data submitted");
+            videoAdapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData);
         });
         
         // Observe loading state
-        videoViewModel.getIsLoading().observe(getViewLifecycleOwner(), isLoading -> {
-            Log.d(TAG, "Loading state changed: " + isLoading);
-            if (isLoading != null) {
-                if (isLoading) {
+        videoViewModel.getIsLoading().observe(getViewLifecycleOwner(), loading -> {
+            Log.d(TAG, "Loading state changed: " + loading);
+            if (loading != null) {
+                isLoading = loading;
+                if (loading) {
                     showLoading();
                 } else {
                     hideLoading();
+                    updateEmptyState();
                 }
             }
         });
@@ -193,34 +198,14 @@ public class HomeVideoFragment extends Fragment implements VideoAdapter.OnVideoC
         }
     }
 
-    private void updateVideoList(List<VideoModel> videos) {
-        Log.d(TAG, "updateVideoList: Updating with " + (videos != null ? videos.size() : 0) + " videos");
-        
-        if (videos == null) {
-            videos = new ArrayList<>();
-        }
-        
-        videoList.clear();
-        videoList.addAll(videos);
-        
-        // Show toast with actual loaded video count
-        if (getContext() != null) {
-            
-        }
-        
-        if (videoAdapter != null) {
-            videoAdapter.updateVideoList(videoList);
-            Log.d(TAG, "Adapter updated with " + videoList.size() + " videos");
-        } else {
-            Log.e(TAG, "VideoAdapter is null!");
-        }
+    private void updateEmptyState() {
+        if (binding == null || isLoading) return;
         
-        // Show/hide appropriate states
-        if (videos.isEmpty()) {
-            Log.d(TAG, "No videos found, showing empty state");
+        int count = videoAdapter != null ? videoAdapter.getItemCount() : 0;
+        Log.d(TAG, "updateEmptyState: " + count + " videos in paged list");
+        if (count == 0) {
             showEmptyState();
         } else {
-            Log.d(TAG, "Videos found, hiding empty state");
             hideEmptyState();
         }
     }
@@ -282,7 +267,7 @@ public class HomeVideoFragment extends Fragment implements VideoAdapter.OnVideoC
         binding.buttonRefresh.setOnClickListener(v -> checkPermissionsAndLoadVideos());
     }
 
-    // VideoAdapter.OnVideoClickListener implementation
+    // PagedVideoAdapter.OnVideoClickListener implementation
     @Override
     public void onVideoClick(VideoModel video, int position) {
         Log.d(TAG, "onVideoClick: " + video.getDisplayName());
@@ -310,28 +295,31 @@ public class HomeVideoFragment extends Fragment implements VideoAdapter.OnVideoC
     }
 
     private void openVideoPlayer(VideoModel video, int position) {
-        if (getContext() != null && videoList != null && !videoList.isEmpty()) {
-            Log.d(TAG, "Opening video player with playlist of " + videoList.size() + " videos, starting at position " + position);
-            
+        if (getContext() != null && videoAdapter != null && videoAdapter.getItemCount() > 0) {
             Intent intent = new Intent(getContext(), PlayerActivity.class);
             intent.putExtra("videoPath", video.getUri().toString());
             intent.putExtra("videoTitle", video.getTitle());
             
-            // Pass the complete video list as playlist
-            ArrayList<VideoModel> playlist = new ArrayList<>(videoList);
-            intent.putParcelableArrayListExtra("playlist", playlist);
-            
-            // Find and pass the current video index
-            int currentIndex = position;
-            
-            // Double-check the index by comparing video IDs (more reliable)
-            for (int i = 0; i < videoList.size(); i++) {
-                if (videoList.get(i).getId() == video.getId()) {
-                    currentIndex = i;
-                    break;
+            // Only loaded pages are in memory, so the playlist is the loaded window around the tapped video
+            List<VideoModel> loaded = videoAdapter.snapshot();
+            ArrayList<VideoModel> playlist = new ArrayList<>();
+            int currentIndex = 0;
+            int start = Math.max(0, position - PLAYLIST_WINDOW);
+            int end = Math.min(loaded.size(), position + PLAYLIST_WINDOW + 1);
+            for (int i = start; i < end; i++) {
+                VideoModel item = loaded.get(i);
+                if (item == null) continue;
+                if (item.getId() == video.getId()) {
+                    currentIndex = playlist.size();
                 }
+                playlist.add(item);
+            }
+            if (playlist.isEmpty()) {
+                playlist.add(video);
             }
+            intent.putParcelableArrayListExtra("playlist", playlist);
             
+            Log.d(TAG, "Opening video player with playlist of " + playlist.size() + " videos, starting at position " + position);
             intent.putExtra("currentIndex", currentIndex);
             
             Log.d(TAG, "Starting PlayerActivity with currentIndex: " + currentIndex);
@@ -411,12 +399,12 @@ public class HomeVideoFragment extends Fragment implements VideoAdapter.OnVideoC
 
     // Public method to get video count for external use
     public int getVideoCount() {
-        return videoList != null ? videoList.size() : 0;
+        return videoAdapter != null ? videoAdapter.getItemCount() : 0;
     }
 
     // Public method to check if videos are loaded
     public boolean hasVideos() {
-        return videoList != null && !videoList.isEmpty();
+        return getVideoCount() > 0;
     }
 
     @Override
@@ -426,11 +414,6 @@ public class HomeVideoFragment extends Fragment implements VideoAdapter.OnVideoC
         
         // Clean up View Binding reference to prevent memory leaks
         binding = null;
-        
-        // Clean up adapter references
-        if (videoAdapter != null) {
-            videoAdapter.clearVideos();
-        }
     }
 
     // Inner class for grid spacing
@@ -0,0 +1,91 @@
+package com.nidoham.streamlyvid.loader;
+
+import com.nidoham.streamlyvid.model.FolderModel;
+import com.nidoham.streamlyvid.model.VideoModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a single pass over the video library: the flat video list plus the folder
+ * aggregation. Folders reference entries of the same list by index, so both views share
+ * one set of {@link VideoModel} instances.
+ */
+public class LibraryScan {
+    private final List<VideoModel> videos;
+    private final List<FolderModel> folders;
+
+    private LibraryScan(List<VideoModel> videos, List<FolderModel> folders) {
+        this.videos = videos;
+        this.folders = folders;
+    }
+
+    // Read-only; folder membership indexes into this list
+    public List<VideoModel> getVideos() { return videos; }
+    public List<FolderModel> getFolders() { return folders; }
+
+    public static LibraryScan fromVideos(List<VideoModel> videos) {
+        Builder builder = new Builder(videos.size());
+        for (VideoModel video : videos) {
+            builder.add(video);
+        }
+        return builder.build();
+    }
+
+    static class Builder {
+        private final List<VideoModel> videos;
+        private final Map<String, BucketIndices> buckets = new LinkedHashMap<>();
+
+        Builder(int expectedSize) {
+            this.videos = new ArrayList<>(expectedSize);
+        }
+
+        void add(VideoModel video) {
+            int index = videos.size();
+            videos.add(video);
+
+            String bucketId = video.getBucketId();
+            String bucketName = video.getBucketDisplayName();
+            if (bucketId == null || bucketName == null) return;
+
+            BucketIndices bucket = buckets.get(bucketId);
+            if (bucket == null) {
+                bucket = new BucketIndices(bucketName);
+                buckets.put(bucketId, bucket);
+            }
+            bucket.add(index);
+        }
+
+        LibraryScan build() {
+            List<VideoModel> library = Collections.unmodifiableList(videos);
+            List<FolderModel> folders = new ArrayList<>(buckets.size());
+            for (Map.Entry<String, BucketIndices> entry : buckets.entrySet()) {
+                BucketIndices bucket = entry.getValue();
+                folders.add(new FolderModel(entry.getKey(), bucket.name, library,
+                        Arrays.copyOf(bucket.indices, bucket.count)));
+            }
+            folders.sort((f1, f2) -> f1.getBucketDisplayName().compareToIgnoreCase(f2.getBucketDisplayName()));
+            return new LibraryScan(library, folders);
+        }
+    }
+
+    private static class BucketIndices {
+        private final String name;
+        private int[] indices = new int[8];
+        private int count = 0;
+
+        BucketIndices(String name) {
+            this.name = name;
+        }
+
+        void add(int index) {
+            if (count == indices.length) {
+                indices = Arrays.copyOf(indices, count * 2);
+            }
+            indices[count++] = index;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.nidoham.streamlyvid.loader;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists the MediaStore watermark reached by the last successful sync so the next
+ * sync only has to query rows that changed after it.
+ */
+public class MediaSyncState {
+    private static final String PREFS_NAME = "media_sync";
+    private static final String KEY_VOLUMES = "volumes";
+    private static final String KEY_VERSION_PREFIX = "version_";
+    private static final String KEY_GENERATION_PREFIX = "generation_";
+    private static final String KEY_MAX_DATE_MODIFIED = "max_date_modified";
+    private static final String KEY_MAX_DATE_ADDED = "max_date_added";
+    private static final String KEY_HAS_WATERMARK = "has_watermark";
+
+    private final SharedPreferences prefs;
+
+    public MediaSyncState(Context context) {
+        this.prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public Watermark load() {
+        if (!prefs.getBoolean(KEY_HAS_WATERMARK, false)) {
+            return null;
+        }
+
+        Map<String, String> versions = new HashMap<>();
+        Map<String, Long> generations = new HashMap<>();
+        Set<String> volumes = prefs.getStringSet(KEY_VOLUMES, Collections.emptySet());
+        for (String volume : volumes) {
+            versions.put(volume, prefs.getString(KEY_VERSION_PREFIX + volume, null));
+            generations.put(volume, prefs.getLong(KEY_GENERATION_PREFIX + volume, 0));
+        }
+        return new Watermark(versions, generations,
+                prefs.getLong(KEY_MAX_DATE_MODIFIED, 0),
+                prefs.getLong(KEY_MAX_DATE_ADDED, 0));
+    }
+
+    public void save(Watermark watermark) {
+        SharedPreferences.Editor editor = prefs.edit().clear();
+        editor.putBoolean(KEY_HAS_WATERMARK, true);
+        editor.putStringSet(KEY_VOLUMES, new HashSet<>(watermark.getGenerations().keySet()));
+        for (Map.Entry<String, Long> entry : watermark.getGenerations().entrySet()) {
+            editor.putString(KEY_VERSION_PREFIX + entry.getKey(), watermark.getVolumeVersions().get(entry.getKey()));
+            editor.putLong(KEY_GENERATION_PREFIX + entry.getKey(), entry.getValue());
+        }
+        editor.putLong(KEY_MAX_DATE_MODIFIED, watermark.getMaxDateModified());
+        editor.putLong(KEY_MAX_DATE_ADDED, watermark.getMaxDateAdded());
+        editor.apply();
+    }
+
+    public void clear() {
+        prefs.edit().clear().apply();
+    }
+
+    /**
+     * Point in MediaStore history. On API 30+ this is the generation number of every
+     * external volume; below that only the DATE_MODIFIED / DATE_ADDED maxima (in seconds)
+     * are available.
+     */
+    public static class Watermark {
+        private final Map<String, String> volumeVersions;
+        private final Map<String, Long> generations;
+        private final long maxDateModified;
+        private final long maxDateAdded;
+
+        public Watermark(Map<String, String> volumeVersions, Map<String, Long> generations,
+                         long maxDateModified, long maxDateAdded) {
+            this.volumeVersions = volumeVersions;
+            this.generations = generations;
+            this.maxDateModified = maxDateModified;
+            this.maxDateAdded = maxDateAdded;
+        }
+
+        public Map<String, String> getVolumeVersions() { return volumeVersions; }
+        public Map<String, Long> getGenerations() { return generations; }
+        public long getMaxDateModified() { return maxDateModified; }
+        public long getMaxDateAdded() { return maxDateAdded; }
+
+        public boolean usesGenerations() {
+            return !generations.isEmpty();
+        }
+
+        // Generations are only comparable while the volume set and their MediaStore versions are unchanged
+        public boolean isCompatibleWith(Watermark current) {
+            if (usesGenerations() != current.usesGenerations()) return false;
+            return volumeVersions.equals(current.volumeVersions);
+        }
+
+        public Watermark withDateMaxima(long dateModified, long dateAdded) {
+            return new Watermark(volumeVersions, generations,
+                    Math.max(maxDateModified, dateModified),
+                    Math.max(maxDateAdded, dateAdded));
+        }
+    }
+}
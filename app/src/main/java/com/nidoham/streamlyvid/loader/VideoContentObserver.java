@@ -0,0 +1,85 @@
+package com.nidoham.streamlyvid.loader;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.database.ContentObserver;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.provider.MediaStore;
+import android.util.Log;
+
+/**
+ * Watches the MediaStore video collection and coalesces bursts of change notifications
+ * (camera bursts, bulk copies) into a single library-changed callback.
+ */
+public class VideoContentObserver extends ContentObserver {
+    private static final String TAG = "VideoContentObserver";
+
+    // Quiet period after the last notification before the listener fires
+    private static final long DEBOUNCE_DELAY_MS = 1000;
+    // A continuous burst can postpone the listener by at most this long
+    private static final long MAX_DELAY_MS = 5000;
+
+    public interface OnLibraryChangedListener {
+        void onLibraryChanged();
+    }
+
+    private final ContentResolver contentResolver;
+    private final Handler handler;
+    private final OnLibraryChangedListener listener;
+    private final Runnable dispatchRunnable = this::dispatchChange;
+
+    // Only touched on the handler thread
+    private long firstPendingChangeTime = 0;
+    private int pendingChangeCount = 0;
+    private boolean registered = false;
+
+    public VideoContentObserver(Context context, OnLibraryChangedListener listener) {
+        this(context, new Handler(Looper.getMainLooper()), listener);
+    }
+
+    private VideoContentObserver(Context context, Handler handler, OnLibraryChangedListener listener) {
+        super(handler);
+        this.contentResolver = context.getApplicationContext().getContentResolver();
+        this.handler = handler;
+        this.listener = listener;
+    }
+
+    public void register() {
+        if (!registered) {
+            contentResolver.registerContentObserver(
+                    MediaStore.Video.Media.EXTERNAL_CONTENT_URI, true, this);
+            registered = true;
+        }
+    }
+
+    public void unregister() {
+        if (registered) {
+            contentResolver.unregisterContentObserver(this);
+            registered = false;
+        }
+        handler.removeCallbacks(dispatchRunnable);
+        pendingChangeCount = 0;
+    }
+
+    @Override
+    public void onChange(boolean selfChange, Uri uri) {
+        long now = SystemClock.uptimeMillis();
+        if (pendingChangeCount == 0) {
+            firstPendingChangeTime = now;
+        }
+        pendingChangeCount++;
+
+        handler.removeCallbacks(dispatchRunnable);
+        long deadline = firstPendingChangeTime + MAX_DELAY_MS;
+        handler.postAtTime(dispatchRunnable, Math.min(now + DEBOUNCE_DELAY_MS, deadline));
+    }
+
+    private void dispatchChange() {
+        Log.d(TAG, "Coalesced " + pendingChangeCount + " MediaStore change notifications");
+        pendingChangeCount = 0;
+        listener.onLibraryChanged();
+    }
+}
@@ -0,0 +1,69 @@
+package com.nidoham.streamlyvid.loader;
+
+import android.database.Cursor;
+import android.provider.MediaStore;
+import android.util.Log;
+import com.nidoham.streamlyvid.model.VideoModel;
+
+/**
+ * Decodes rows of a {@link VideoLoader#VIDEO_PROJECTION} cursor. Column indices are resolved
+ * once per cursor instead of once per row, and no content {@code Uri} is built while decoding;
+ * {@link VideoModel#getUri()} creates it on first use.
+ */
+class VideoCursorDecoder {
+    private static final String TAG = "VideoCursorDecoder";
+
+    private final int idColumn;
+    private final int titleColumn;
+    private final int displayNameColumn;
+    private final int dataColumn;
+    private final int sizeColumn;
+    private final int durationColumn;
+    private final int mimeTypeColumn;
+    private final int dateAddedColumn;
+    private final int dateModifiedColumn;
+    private final int bucketDisplayNameColumn;
+    private final int bucketIdColumn;
+    private final int widthColumn;
+    private final int heightColumn;
+
+    VideoCursorDecoder(Cursor cursor) {
+        idColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media._ID);
+        titleColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.TITLE);
+        displayNameColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.DISPLAY_NAME);
+        dataColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.DATA);
+        sizeColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.SIZE);
+        durationColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.DURATION);
+        mimeTypeColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.MIME_TYPE);
+        dateAddedColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.DATE_ADDED);
+        dateModifiedColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.DATE_MODIFIED);
+        bucketDisplayNameColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.BUCKET_DISPLAY_NAME);
+        bucketIdColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.BUCKET_ID);
+        widthColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.WIDTH);
+        heightColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media.HEIGHT);
+    }
+
+    // Decodes the current row, or returns null if the row is malformed
+    VideoModel decode(Cursor cursor) {
+        try {
+            return new VideoModel(
+                    cursor.getLong(idColumn),
+                    cursor.getString(titleColumn),
+                    cursor.getString(displayNameColumn),
+                    cursor.getString(dataColumn),
+                    null,
+                    cursor.getLong(sizeColumn),
+                    cursor.getLong(durationColumn),
+                    cursor.getString(mimeTypeColumn),
+                    cursor.getLong(dateAddedColumn),
+                    cursor.getLong(dateModifiedColumn),
+                    cursor.getString(bucketDisplayNameColumn),
+                    cursor.getString(bucketIdColumn),
+                    cursor.getInt(widthColumn),
+                    cursor.getInt(heightColumn));
+        } catch (Exception e) {
+            Log.e(TAG, "Error decoding video row", e);
+            return null;
+        }
+    }
+}
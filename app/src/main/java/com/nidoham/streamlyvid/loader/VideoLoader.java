@@ -4,14 +4,17 @@ import android.content.ContentResolver;
 import android.content.Context;
 import android.database.Cursor;
 import android.net.Uri;
+import android.os.Build;
 import android.provider.MediaStore;
 import android.util.Log;
 import com.nidoham.streamlyvid.model.VideoModel;
 import com.nidoham.streamlyvid.model.FolderModel;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -21,7 +24,7 @@ public class VideoLoader {
     private final ExecutorService executor;
 
     // MediaStore projection for video queries
-    private static final String[] VIDEO_PROJECTION = {
+    static final String[] VIDEO_PROJECTION = {
         MediaStore.Video.Media._ID,
         MediaStore.Video.Media.TITLE,
         MediaStore.Video.Media.DISPLAY_NAME,
@@ -37,6 +40,15 @@ public class VideoLoader {
         MediaStore.Video.Media.HEIGHT
     };
 
+    // Rows shorter than 1 second or smaller than 1KB are not treated as videos
+    private static final String VALID_VIDEO_SELECTION = MediaStore.Video.Media.DURATION + " > ? AND " +
+                                                        MediaStore.Video.Media.SIZE + " > ?";
+    private static final String[] VALID_VIDEO_SELECTION_ARGS = {"1000", "1024"};
+
+    // The first chunk fills the home grid; later chunks grow geometrically so catalog inserts are batched
+    private static final int FIRST_CHUNK_SIZE = 24;
+    private static final int MAX_CHUNK_SIZE = 2048;
+
     public interface VideoLoadCallback {
         void onVideosLoaded(List<VideoModel> videos);
         void onError(Exception error);
@@ -47,6 +59,48 @@ public class VideoLoader {
         void onError(Exception error);
     }
 
+    public interface LibraryScanCallback {
+        void onLibraryScanned(LibraryScan scan);
+        void onError(Exception error);
+    }
+
+    public interface VideoSyncCallback {
+        void onSyncLoaded(VideoSyncResult result);
+        void onError(Exception error);
+
+        // Full scans also stream newly decoded videos in DATE_ADDED DESC order, continuing the
+        // previous chunk; delta syncs are small enough to deliver in one piece
+        default void onChunkLoaded(List<VideoModel> chunk) {}
+    }
+
+    private interface ChunkListener {
+        void onChunk(List<VideoModel> chunk);
+    }
+
+    /**
+     * Outcome of {@link #syncVideos}. A full scan carries the whole library; a delta carries
+     * only rows changed since the previous watermark plus the ids of every row still present.
+     */
+    public static class VideoSyncResult {
+        private final boolean fullScan;
+        private final List<VideoModel> videos;
+        private final Set<Long> liveIds;
+        private final MediaSyncState.Watermark watermark;
+
+        private VideoSyncResult(boolean fullScan, List<VideoModel> videos, Set<Long> liveIds,
+                                MediaSyncState.Watermark watermark) {
+            this.fullScan = fullScan;
+            this.videos = videos;
+            this.liveIds = liveIds;
+            this.watermark = watermark;
+        }
+
+        public boolean isFullScan() { return fullScan; }
+        public List<VideoModel> getVideos() { return videos; }
+        public Set<Long> getLiveIds() { return liveIds; }
+        public MediaSyncState.Watermark getWatermark() { return watermark; }
+    }
+
     public VideoLoader(Context context) {
         this.context = context.getApplicationContext();
         this.executor = Executors.newFixedThreadPool(2);
@@ -79,7 +133,7 @@ public class VideoLoader {
     public void loadFolders(FolderLoadCallback callback) {
         executor.execute(() -> {
             try {
-                List<FolderModel> folders = queryFolders();
+                List<FolderModel> folders = queryLibrary().getFolders();
                 callback.onFoldersLoaded(folders);
             } catch (Exception e) {
                 Log.e(TAG, "Error loading folders", e);
@@ -88,6 +142,178 @@ public class VideoLoader {
         });
     }
 
+    // Walks the cursor once and returns both the video list and the folders built from it
+    public void scanLibrary(LibraryScanCallback callback) {
+        executor.execute(() -> {
+            try {
+                callback.onLibraryScanned(queryLibrary());
+            } catch (Exception e) {
+                Log.e(TAG, "Error scanning library", e);
+                callback.onError(e);
+            }
+        });
+    }
+
+    /**
+     * Brings the caller up to date with MediaStore. When {@code since} is a usable watermark
+     * only rows modified after it are decoded; otherwise this falls back to a full scan.
+     */
+    public void syncVideos(MediaSyncState.Watermark since, VideoSyncCallback callback) {
+        executor.execute(() -> {
+            try {
+                callback.onSyncLoaded(querySync(since, callback::onChunkLoaded));
+            } catch (Exception e) {
+                Log.e(TAG, "Error syncing videos", e);
+                callback.onError(e);
+            }
+        });
+    }
+
+    private VideoSyncResult querySync(MediaSyncState.Watermark since, ChunkListener chunkListener) {
+        // Capture generations before querying so changes racing the query are seen next time
+        MediaSyncState.Watermark current = captureWatermark();
+
+        if (since == null || !since.isCompatibleWith(current)) {
+            List<VideoModel> videos = queryVideos(MediaStore.Video.Media.EXTERNAL_CONTENT_URI,
+                    VALID_VIDEO_SELECTION, VALID_VIDEO_SELECTION_ARGS,
+                    MediaStore.Video.Media.DATE_ADDED + " DESC", chunkListener);
+            Log.d(TAG, "Full sync loaded " + videos.size() + " videos");
+            return new VideoSyncResult(true, videos, null, withDateMaxima(current, videos));
+        }
+
+        List<VideoModel> changed = new ArrayList<>();
+        if (current.usesGenerations() && Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            String selection = VALID_VIDEO_SELECTION + " AND " + MediaStore.MediaColumns.GENERATION_MODIFIED + " > ?";
+            for (Map.Entry<String, Long> entry : since.getGenerations().entrySet()) {
+                String[] selectionArgs = {VALID_VIDEO_SELECTION_ARGS[0], VALID_VIDEO_SELECTION_ARGS[1],
+                        String.valueOf(entry.getValue())};
+                changed.addAll(queryVideos(MediaStore.Video.Media.getContentUri(entry.getKey()),
+                        selection, selectionArgs, null));
+            }
+        } else {
+            // DATE_MODIFIED alone misses copies that keep their original mtime, so DATE_ADDED is checked too
+            String selection = VALID_VIDEO_SELECTION + " AND (" +
+                    MediaStore.Video.Media.DATE_MODIFIED + " >= ? OR " +
+                    MediaStore.Video.Media.DATE_ADDED + " >= ?)";
+            String[] selectionArgs = {VALID_VIDEO_SELECTION_ARGS[0], VALID_VIDEO_SELECTION_ARGS[1],
+                    String.valueOf(since.getMaxDateModified()), String.valueOf(since.getMaxDateAdded())};
+            changed = queryVideos(MediaStore.Video.Media.EXTERNAL_CONTENT_URI, selection, selectionArgs, null);
+        }
+
+        Set<Long> liveIds = queryVideoIds();
+        Log.d(TAG, "Delta sync loaded " + changed.size() + " changed videos, " + liveIds.size() + " live ids");
+        return new VideoSyncResult(false, changed, liveIds,
+                withDateMaxima(current, changed).withDateMaxima(since.getMaxDateModified(), since.getMaxDateAdded()));
+    }
+
+    private MediaSyncState.Watermark captureWatermark() {
+        Map<String, String> versions = new HashMap<>();
+        Map<String, Long> generations = new HashMap<>();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            for (String volume : MediaStore.getExternalVolumeNames(context)) {
+                versions.put(volume, MediaStore.getVersion(context, volume));
+                generations.put(volume, MediaStore.getGeneration(context, volume));
+            }
+        }
+        return new MediaSyncState.Watermark(versions, generations, 0, 0);
+    }
+
+    private MediaSyncState.Watermark withDateMaxima(MediaSyncState.Watermark watermark, List<VideoModel> videos) {
+        long maxDateModified = 0;
+        long maxDateAdded = 0;
+        for (VideoModel video : videos) {
+            maxDateModified = Math.max(maxDateModified, video.getDateModified());
+            maxDateAdded = Math.max(maxDateAdded, video.getDateAdded());
+        }
+        return watermark.withDateMaxima(maxDateModified, maxDateAdded);
+    }
+
+    // Id-only pass used to detect deletions without decoding full rows
+    private Set<Long> queryVideoIds() {
+        try (Cursor cursor = context.getContentResolver().query(
+                MediaStore.Video.Media.EXTERNAL_CONTENT_URI,
+                new String[]{MediaStore.Video.Media._ID},
+                VALID_VIDEO_SELECTION,
+                VALID_VIDEO_SELECTION_ARGS,
+                null)) {
+
+            if (cursor == null) {
+                throw new IllegalStateException("MediaStore returned no cursor for video ids");
+            }
+
+            Set<Long> ids = new HashSet<>(cursor.getCount() * 2);
+            int idColumn = cursor.getColumnIndexOrThrow(MediaStore.Video.Media._ID);
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getLong(idColumn));
+            }
+            return ids;
+        }
+    }
+
+    // Unlike the load* queries, failures propagate so a sync never mistakes an error for an empty library
+    private List<VideoModel> queryVideos(Uri uri, String selection, String[] selectionArgs, String sortOrder) {
+        return queryVideos(uri, selection, selectionArgs, sortOrder, null);
+    }
+
+    private List<VideoModel> queryVideos(Uri uri, String selection, String[] selectionArgs, String sortOrder,
+                                         ChunkListener chunkListener) {
+        List<VideoModel> videos = new ArrayList<>();
+        int chunkStart = 0;
+        int chunkSize = FIRST_CHUNK_SIZE;
+        try (Cursor cursor = context.getContentResolver().query(
+                uri, VIDEO_PROJECTION, selection, selectionArgs, sortOrder)) {
+
+            if (cursor == null) {
+                throw new IllegalStateException("MediaStore returned no cursor for " + uri);
+            }
+
+            VideoCursorDecoder decoder = new VideoCursorDecoder(cursor);
+            while (cursor.moveToNext()) {
+                VideoModel video = decoder.decode(cursor);
+                if (video != null) {
+                    videos.add(video);
+                }
+
+                if (chunkListener != null && videos.size() - chunkStart >= chunkSize) {
+                    chunkListener.onChunk(new ArrayList<>(videos.subList(chunkStart, videos.size())));
+                    chunkStart = videos.size();
+                    chunkSize = Math.min(chunkSize * 2, MAX_CHUNK_SIZE);
+                }
+            }
+        }
+
+        if (chunkListener != null && chunkStart < videos.size()) {
+            chunkListener.onChunk(new ArrayList<>(videos.subList(chunkStart, videos.size())));
+        }
+        return videos;
+    }
+
+    private LibraryScan queryLibrary() {
+        try (Cursor cursor = context.getContentResolver().query(
+                MediaStore.Video.Media.EXTERNAL_CONTENT_URI,
+                VIDEO_PROJECTION,
+                VALID_VIDEO_SELECTION,
+                VALID_VIDEO_SELECTION_ARGS,
+                MediaStore.Video.Media.DATE_ADDED + " DESC")) {
+
+            if (cursor == null) {
+                throw new IllegalStateException("MediaStore returned no cursor for library scan");
+            }
+
+            LibraryScan.Builder builder = new LibraryScan.Builder(cursor.getCount());
+            VideoCursorDecoder decoder = new VideoCursorDecoder(cursor);
+            while (cursor.moveToNext()) {
+                VideoModel video = decoder.decode(cursor);
+                if (video != null) {
+                    builder.add(video);
+                }
+            }
+            LibraryScan scan = builder.build();
+            Log.d(TAG, "Scanned " + scan.getVideos().size() + " videos in " + scan.getFolders().size() + " folders");
+            return scan;
+        }
+    }
+
     private List<VideoModel> queryAllVideos() {
         List<VideoModel> videos = new ArrayList<>();
         ContentResolver contentResolver = context.getContentResolver();
@@ -106,8 +332,9 @@ public class VideoLoader {
                 sortOrder)) {
 
             if (cursor != null && cursor.moveToFirst()) {
+                VideoCursorDecoder decoder = new VideoCursorDecoder(cursor);
                 do {
-                    VideoModel video = createVideoFromCursor(cursor);
+                    VideoModel video = decoder.decode(cursor);
                     if (video != null) {
                         videos.add(video);
                     }
@@ -140,8 +367,9 @@ public class VideoLoader {
                 sortOrder)) {
 
             if (cursor != null && cursor.moveToFirst()) {
+                VideoCursorDecoder decoder = new VideoCursorDecoder(cursor);
                 do {
-                    VideoModel video = createVideoFromCursor(cursor);
+                    VideoModel video = decoder.decode(cursor);
                     if (video != null) {
                         videos.add(video);
                     }
@@ -154,75 +382,6 @@ public class VideoLoader {
         return videos;
     }
 
-    private List<FolderModel> queryFolders() {
-        Map<String, FolderModel> folderMap = new HashMap<>();
-        ContentResolver contentResolver = context.getContentResolver();
-
-        String selection = MediaStore.Video.Media.DURATION + " > ? AND " +
-                          MediaStore.Video.Media.SIZE + " > ?";
-        String[] selectionArgs = {"1000", "1024"};
-
-        String sortOrder = MediaStore.Video.Media.BUCKET_DISPLAY_NAME + " ASC";
-
-        try (Cursor cursor = contentResolver.query(
-                MediaStore.Video.Media.EXTERNAL_CONTENT_URI,
-                VIDEO_PROJECTION,
-                selection,
-                selectionArgs,
-                sortOrder)) {
-
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    VideoModel video = createVideoFromCursor(cursor);
-                    if (video != null) {
-                        String bucketId = video.getBucketId();
-                        String bucketName = video.getBucketDisplayName();
-
-                        if (bucketId != null && bucketName != null) {
-                            FolderModel folder = folderMap.get(bucketId);
-                            if (folder == null) {
-                                folder = new FolderModel(bucketId, bucketName);
-                                folderMap.put(bucketId, folder);
-                            }
-                            folder.addVideo(video);
-                        }
-                    }
-                } while (cursor.moveToNext());
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error querying folders", e);
-        }
-
-        return new ArrayList<>(folderMap.values());
-    }
-
-    private VideoModel createVideoFromCursor(Cursor cursor) {
-        try {
-            long id = cursor.getLong(cursor.getColumnIndexOrThrow(MediaStore.Video.Media._ID));
-            String title = cursor.getString(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.TITLE));
-            String displayName = cursor.getString(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.DISPLAY_NAME));
-            String data = cursor.getString(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.DATA));
-            long size = cursor.getLong(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.SIZE));
-            long duration = cursor.getLong(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.DURATION));
-            String mimeType = cursor.getString(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.MIME_TYPE));
-            long dateAdded = cursor.getLong(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.DATE_ADDED));
-            long dateModified = cursor.getLong(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.DATE_MODIFIED));
-            String bucketDisplayName = cursor.getString(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.BUCKET_DISPLAY_NAME));
-            String bucketId = cursor.getString(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.BUCKET_ID));
-            int width = cursor.getInt(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.WIDTH));
-            int height = cursor.getInt(cursor.getColumnIndexOrThrow(MediaStore.Video.Media.HEIGHT));
-
-            Uri uri = Uri.withAppendedPath(MediaStore.Video.Media.EXTERNAL_CONTENT_URI, String.valueOf(id));
-
-            return new VideoModel(id, title, displayName, data, uri, size, duration,
-                    mimeType, dateAdded, dateModified, bucketDisplayName, bucketId, width, height);
-
-        } catch (Exception e) {
-            Log.e(TAG, "Error creating video from cursor", e);
-            return null;
-        }
-    }
-
     public void shutdown() {
         if (executor != null && !executor.isShutdown()) {
             executor.shutdown();
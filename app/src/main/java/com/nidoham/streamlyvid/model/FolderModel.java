@@ -1,8 +1,10 @@
 package com.nidoham.streamlyvid.model;
 
 import android.net.Uri;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
 
 public class FolderModel {
     private String bucketId;
@@ -23,6 +25,14 @@ public class FolderModel {
         this.videos = new ArrayList<>();
     }
 
+    // Membership by index into a shared library list, so no per-folder copies are made
+    public FolderModel(String bucketId, String bucketDisplayName, List<VideoModel> library, int[] videoIndices) {
+        this.bucketId = bucketId;
+        this.bucketDisplayName = bucketDisplayName;
+        this.videos = new IndexedVideoList(library, videoIndices);
+        updateStats();
+    }
+
     // Getters and Setters
     public String getBucketId() { return bucketId; }
     public void setBucketId(String bucketId) { this.bucketId = bucketId; }
@@ -49,14 +59,30 @@ public class FolderModel {
     }
 
     public void addVideo(VideoModel video) {
+        if (videos instanceof IndexedVideoList) {
+            videos = new ArrayList<>(videos);
+        }
         this.videos.add(video);
-        updateStats();
+        
+        // Incremental update keeps bulk adds linear
+        this.videoCount = videos.size();
+        this.totalSize += video.getSize();
+        this.lastModified = Math.max(lastModified, video.getDateModified());
+        if (thumbnailUri == null) {
+            this.thumbnailUri = video.getUri();
+        }
     }
 
     private void updateStats() {
+        long size = 0;
+        long modified = 0;
+        for (VideoModel video : videos) {
+            size += video.getSize();
+            modified = Math.max(modified, video.getDateModified());
+        }
         this.videoCount = videos.size();
-        this.totalSize = videos.stream().mapToLong(VideoModel::getSize).sum();
-        this.lastModified = videos.stream().mapToLong(VideoModel::getDateModified).max().orElse(0);
+        this.totalSize = size;
+        this.lastModified = modified;
         
         // Set thumbnail to first video's URI
         if (!videos.isEmpty() && thumbnailUri == null) {
@@ -70,4 +96,25 @@ public class FolderModel {
         if (totalSize < 1024 * 1024 * 1024) return String.format("%.1f MB", totalSize / (1024.0 * 1024));
         return String.format("%.1f GB", totalSize / (1024.0 * 1024 * 1024));
     }
+
+    // Read-only view of the library entries belonging to one folder
+    private static class IndexedVideoList extends AbstractList<VideoModel> implements RandomAccess {
+        private final List<VideoModel> library;
+        private final int[] indices;
+
+        IndexedVideoList(List<VideoModel> library, int[] indices) {
+            this.library = library;
+            this.indices = indices;
+        }
+
+        @Override
+        public VideoModel get(int index) {
+            return library.get(indices[index]);
+        }
+
+        @Override
+        public int size() {
+            return indices.length;
+        }
+    }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.nidoham.streamlyvid.model;
 
+import android.content.ContentUris;
 import android.net.Uri;
 import android.os.Parcel;
 import android.os.Parcelable;
+import android.provider.MediaStore;
 import androidx.annotation.NonNull;
 import java.util.Objects;
 
@@ -45,7 +47,6 @@ public class VideoModel implements Parcelable {
         this.bucketId = bucketId;
         this.width = width;
         this.height = height;
-        this.resolution = width + "x" + height;
     }
 
     // Parcelable implementation
@@ -120,7 +121,13 @@ public class VideoModel implements Parcelable {
     public String getData() { return data; }
     public void setData(String data) { this.data = data; }
 
-    public Uri getUri() { return uri; }
+    // Built on first use so decoding a large library does not allocate a Uri per row
+    public Uri getUri() {
+        if (uri == null && id > 0) {
+            uri = ContentUris.withAppendedId(MediaStore.Video.Media.EXTERNAL_CONTENT_URI, id);
+        }
+        return uri;
+    }
     public void setUri(Uri uri) { this.uri = uri; }
 
     public long getSize() { return size; }
@@ -150,7 +157,12 @@ public class VideoModel implements Parcelable {
     public int getHeight() { return height; }
     public void setHeight(int height) { this.height = height; }
 
-    public String getResolution() { return resolution; }
+    public String getResolution() {
+        if (resolution == null) {
+            resolution = width + "x" + height;
+        }
+        return resolution;
+    }
     public void setResolution(String resolution) { this.resolution = resolution; }
 
     public long getLastPlayedTime() { return lastPlayedTime; }
@@ -187,6 +199,24 @@ public class VideoModel implements Parcelable {
         return "";
     }
 
+    // Compares the MediaStore-backed fields; equals() only looks at the id
+    public boolean hasSameContent(VideoModel other) {
+        if (other == null) return false;
+        return id == other.id &&
+                size == other.size &&
+                duration == other.duration &&
+                dateAdded == other.dateAdded &&
+                dateModified == other.dateModified &&
+                width == other.width &&
+                height == other.height &&
+                Objects.equals(title, other.title) &&
+                Objects.equals(displayName, other.displayName) &&
+                Objects.equals(data, other.data) &&
+                Objects.equals(mimeType, other.mimeType) &&
+                Objects.equals(bucketDisplayName, other.bucketDisplayName) &&
+                Objects.equals(bucketId, other.bucketId);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
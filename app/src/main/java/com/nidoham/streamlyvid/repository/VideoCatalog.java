@@ -0,0 +1,172 @@
+package com.nidoham.streamlyvid.repository;
+
+import android.util.Log;
+import com.nidoham.streamlyvid.database.VideoDao;
+import com.nidoham.streamlyvid.database.VideoEntity;
+import com.nidoham.streamlyvid.model.VideoModel;
+import com.nidoham.streamlyvid.utils.SortUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persistent mirror of the MediaStore video library backed by the {@code videos} table.
+ * The catalog is served on launch and reconciled against MediaStore scans afterwards.
+ * All methods hit the database and must be called off the main thread.
+ */
+public class VideoCatalog {
+    private static final String TAG = "VideoCatalog";
+
+    private final VideoDao videoDao;
+    private final Map<Long, VideoModel> videosById = new HashMap<>();
+    private List<VideoModel> videos = new ArrayList<>();
+    private boolean loaded = false;
+
+    public VideoCatalog(VideoDao videoDao) {
+        this.videoDao = videoDao;
+    }
+
+    // Returns the catalog ordered by date added (newest first), reading from disk only once
+    public synchronized List<VideoModel> loadVideos() {
+        if (!loaded) {
+            List<VideoEntity> entities = videoDao.getAllVideos();
+            List<VideoModel> cached = new ArrayList<>(entities.size());
+            for (VideoEntity entity : entities) {
+                cached.add(entity.toVideoModel());
+            }
+            setSnapshot(cached);
+            loaded = true;
+            Log.d(TAG, "Loaded " + cached.size() + " videos from catalog");
+        }
+        return new ArrayList<>(videos);
+    }
+
+    /**
+     * Persists a chunk of a cold-start scan right away so paged readers see it before the scan
+     * ends. Only valid while the catalog started out empty: chunks arrive newest first, so
+     * appending keeps the snapshot in date order, and the final reconcile diffs against it.
+     */
+    public synchronized void insertStreamed(List<VideoModel> chunk) {
+        if (!loaded) {
+            loadVideos();
+        }
+
+        // The snapshot list never leaves this class (loadVideos copies it), so it grows in place
+        List<VideoEntity> entities = new ArrayList<>(chunk.size());
+        for (VideoModel video : chunk) {
+            entities.add(VideoEntity.fromVideoModel(video));
+        }
+        videoDao.upsertVideos(entities);
+        for (VideoModel video : chunk) {
+            if (videosById.put(video.getId(), video) == null) {
+                videos.add(video);
+            }
+        }
+    }
+
+    /**
+     * Writes the difference between the catalog and a fresh MediaStore scan to disk.
+     *
+     * @return true if anything was added, changed or removed
+     */
+    public synchronized boolean reconcile(List<VideoModel> scanned) {
+        if (!loaded) {
+            loadVideos();
+        }
+
+        List<VideoEntity> upserts = new ArrayList<>();
+        Set<Long> scannedIds = new HashSet<>(scanned.size() * 2);
+        for (VideoModel video : scanned) {
+            scannedIds.add(video.getId());
+            VideoModel existing = videosById.get(video.getId());
+            if (existing == null || !existing.hasSameContent(video)) {
+                upserts.add(VideoEntity.fromVideoModel(video));
+            }
+        }
+
+        List<Long> removedIds = new ArrayList<>();
+        for (Long id : videosById.keySet()) {
+            if (!scannedIds.contains(id)) {
+                removedIds.add(id);
+            }
+        }
+
+        if (upserts.isEmpty() && removedIds.isEmpty()) {
+            return false;
+        }
+
+        videoDao.applyChanges(upserts, removedIds);
+        setSnapshot(new ArrayList<>(scanned));
+        Log.d(TAG, "Catalog reconciled: " + upserts.size() + " upserted, " + removedIds.size() + " removed");
+        return true;
+    }
+
+    /**
+     * Applies an incremental MediaStore delta: {@code changedVideos} are upserted and every
+     * catalog entry whose id is missing from {@code liveIds} is removed.
+     *
+     * @return true if anything was added, changed or removed
+     */
+    public synchronized boolean applyDelta(List<VideoModel> changedVideos, Set<Long> liveIds) {
+        if (!loaded) {
+            loadVideos();
+        }
+
+        List<VideoModel> upsertedVideos = new ArrayList<>();
+        for (VideoModel video : changedVideos) {
+            // Skip rows deleted between the delta query and the id query
+            if (!liveIds.contains(video.getId())) continue;
+
+            VideoModel existing = videosById.get(video.getId());
+            if (existing == null || !existing.hasSameContent(video)) {
+                upsertedVideos.add(video);
+            }
+        }
+
+        List<Long> removedIds = new ArrayList<>();
+        for (Long id : videosById.keySet()) {
+            if (!liveIds.contains(id)) {
+                removedIds.add(id);
+            }
+        }
+
+        if (upsertedVideos.isEmpty() && removedIds.isEmpty()) {
+            return false;
+        }
+
+        List<VideoEntity> upserts = new ArrayList<>(upsertedVideos.size());
+        for (VideoModel video : upsertedVideos) {
+            upserts.add(VideoEntity.fromVideoModel(video));
+        }
+        videoDao.applyChanges(upserts, removedIds);
+
+        Map<Long, VideoModel> merged = new HashMap<>(videosById);
+        for (Long id : removedIds) {
+            merged.remove(id);
+        }
+        for (VideoModel video : upsertedVideos) {
+            merged.put(video.getId(), video);
+        }
+        List<VideoModel> mergedVideos = new ArrayList<>(merged.values());
+        SortUtils.sortVideos(mergedVideos, SortUtils.SortType.DATE_NEW_TO_OLD);
+        setSnapshot(mergedVideos);
+
+        Log.d(TAG, "Catalog delta applied: " + upserts.size() + " upserted, " + removedIds.size() + " removed");
+        return true;
+    }
+
+    public synchronized boolean isEmpty() {
+        return videos.isEmpty();
+    }
+
+    private void setSnapshot(List<VideoModel> newVideos) {
+        videos = newVideos;
+        videosById.clear();
+        for (VideoModel video : newVideos) {
+            videosById.put(video.getId(), video);
+        }
+    }
+}
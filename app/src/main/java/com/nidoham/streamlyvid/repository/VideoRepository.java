@@ -2,32 +2,70 @@ package com.nidoham.streamlyvid.repository;
 
 import android.content.Context;
 import android.net.Uri;
+import android.util.Log;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
+import androidx.sqlite.db.SimpleSQLiteQuery;
 import com.nidoham.streamlyvid.database.AppDatabase;
 import com.nidoham.streamlyvid.database.RecentlyPlayedDao;
 import com.nidoham.streamlyvid.database.RecentlyPlayedEntity;
+import com.nidoham.streamlyvid.database.VideoDao;
+import com.nidoham.streamlyvid.database.VideoEntity;
+import com.nidoham.streamlyvid.loader.LibraryScan;
+import com.nidoham.streamlyvid.loader.MediaSyncState;
+import com.nidoham.streamlyvid.loader.VideoContentObserver;
 import com.nidoham.streamlyvid.loader.VideoLoader;
 import com.nidoham.streamlyvid.model.FolderModel;
 import com.nidoham.streamlyvid.model.VideoModel;
 import com.nidoham.streamlyvid.utils.FilterUtils;
+import com.nidoham.streamlyvid.utils.SortIndexCache;
 import com.nidoham.streamlyvid.utils.SortUtils;
 import java.util.ArrayList;
 import java.util.List;
 
 public class VideoRepository  {
+    private static final String TAG = "VideoRepository";
+
+    // Paging window: roughly five screens of the grid are kept in memory at most
+    private static final int PAGE_SIZE = 60;
+    private static final int PREFETCH_DISTANCE = 30;
+    private static final int INITIAL_LOAD_SIZE = 120;
+    private static final int MAX_PAGED_ITEMS = 300;
+
     private final VideoLoader videoLoader;
     private final RecentlyPlayedDao recentlyPlayedDao;
+    private final VideoDao videoDao;
+    private final VideoCatalog videoCatalog;
+    private final MediaSyncState mediaSyncState;
+    private final VideoContentObserver videoContentObserver;
+    private final SortIndexCache sortIndexCache = new SortIndexCache();
     private final MutableLiveData<List<VideoModel>> allVideos = new MutableLiveData<>();
     private final MutableLiveData<List<FolderModel>> allFolders = new MutableLiveData<>();
     private final MutableLiveData<List<VideoModel>> recentlyAddedVideos = new MutableLiveData<>();
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
 
+    // At most one MediaStore sync runs at a time; requests arriving meanwhile collapse into one rerun
+    private final Object syncLock = new Object();
+    private boolean syncInProgress = false;
+    private boolean syncPending = false;
+    private volatile boolean videosPublished = false;
+    private volatile boolean foldersRequested = false;
+
     public VideoRepository(Context context) {
         this.videoLoader = new VideoLoader(context);
         AppDatabase database = AppDatabase.getDatabase(context);
         this.recentlyPlayedDao = database.recentlyPlayedDao();
+        this.videoDao = database.videoDao();
+        this.videoCatalog = new VideoCatalog(videoDao);
+        this.mediaSyncState = new MediaSyncState(context);
+        this.videoContentObserver = new VideoContentObserver(context, this::syncLibrary);
     }
 
     // LiveData getters
@@ -41,54 +79,175 @@ public class VideoRepository  {
         return recentlyPlayedDao.getRecentlyPlayed(limit);
     }
 
+    // Pages straight out of the catalog with the sort pushed down into SQL
+    public LiveData<PagingData<VideoModel>> getPagedVideos(SortUtils.SortType sortType) {
+        PagingConfig config = new PagingConfig(PAGE_SIZE, PREFETCH_DISTANCE, true,
+                INITIAL_LOAD_SIZE, MAX_PAGED_ITEMS);
+        Pager<Integer, VideoEntity> pager = new Pager<>(config,
+                () -> videoDao.getPagedVideos(new SimpleSQLiteQuery(buildPagedQuery(sortType))));
+        return Transformations.map(PagingLiveData.getLiveData(pager),
+                pagingData -> PagingDataTransforms.map(pagingData, AppDatabase.databaseWriteExecutor,
+                        VideoEntity::toVideoModel));
+    }
+
+    private static String buildPagedQuery(SortUtils.SortType sortType) {
+        String orderBy;
+        switch (sortType != null ? sortType : SortUtils.SortType.DATE_NEW_TO_OLD) {
+            case TITLE_ASC: orderBy = "COALESCE(v.title, v.displayName) COLLATE LOCALIZED ASC"; break;
+            case TITLE_DESC: orderBy = "COALESCE(v.title, v.displayName) COLLATE LOCALIZED DESC"; break;
+            // SQLite has no numeric-aware collation; the grid falls back to plain title order
+            case TITLE_NATURAL_ASC: orderBy = "COALESCE(v.title, v.displayName) COLLATE LOCALIZED ASC"; break;
+            case TITLE_NATURAL_DESC: orderBy = "COALESCE(v.title, v.displayName) COLLATE LOCALIZED DESC"; break;
+            case DATE_OLD_TO_NEW: orderBy = "v.dateAdded ASC"; break;
+            case SIZE_LARGE_TO_SMALL: orderBy = "v.size DESC"; break;
+            case SIZE_SMALL_TO_LARGE: orderBy = "v.size ASC"; break;
+            case RESOLUTION_HIGH_TO_LOW: orderBy = "(v.width * v.height) DESC"; break;
+            case RESOLUTION_LOW_TO_HIGH: orderBy = "(v.width * v.height) ASC"; break;
+            case DURATION_LONG_TO_SHORT: orderBy = "v.duration DESC"; break;
+            case DURATION_SHORT_TO_LONG: orderBy = "v.duration ASC"; break;
+            case RECENTLY_PLAYED: orderBy = "rp.lastPlayedTime DESC"; break;
+            case DATE_NEW_TO_OLD:
+            default: orderBy = "v.dateAdded DESC"; break;
+        }
+        // The id tiebreaker keeps LIMIT/OFFSET pages stable across invalidations
+        return "SELECT v.* FROM videos v " +
+               "LEFT JOIN recently_played rp ON rp.videoId = v.id " +
+               "ORDER BY " + orderBy + ", v.id DESC";
+    }
+
     public void loadAllVideos() {
         isLoading.setValue(true);
-        videoLoader.loadAllVideos(new VideoLoader.VideoLoadCallback() {
+        AppDatabase.databaseWriteExecutor.execute(() -> {
+            // First paint comes from the persisted catalog
+            List<VideoModel> cachedVideos = videoCatalog.loadVideos();
+            if (!cachedVideos.isEmpty()) {
+                publishVideos(cachedVideos);
+                isLoading.postValue(false);
+            }
+            syncLibrary();
+        });
+    }
+
+    // Live updates: MediaStore changes trigger a debounced incremental sync
+    public void startObservingLibrary() {
+        videoContentObserver.register();
+    }
+
+    public void stopObservingLibrary() {
+        videoContentObserver.unregister();
+    }
+
+    public void syncLibrary() {
+        synchronized (syncLock) {
+            if (syncInProgress) {
+                syncPending = true;
+                return;
+            }
+            syncInProgress = true;
+        }
+        AppDatabase.databaseWriteExecutor.execute(this::reconcileWithMediaStore);
+    }
+
+    private void onSyncFinished() {
+        synchronized (syncLock) {
+            if (!syncPending) {
+                syncInProgress = false;
+                return;
+            }
+            syncPending = false;
+        }
+        AppDatabase.databaseWriteExecutor.execute(this::reconcileWithMediaStore);
+    }
+
+    private void reconcileWithMediaStore() {
+        // A delta is only meaningful against a catalog that is already populated
+        boolean hasCatalog = !videoCatalog.isEmpty();
+        MediaSyncState.Watermark since = hasCatalog ? mediaSyncState.load() : null;
+        videoLoader.syncVideos(since, new VideoLoader.VideoSyncCallback() {
+            private boolean firstChunkPublished = false;
+
             @Override
-            public void onVideosLoaded(List<VideoModel> videos) {
-                allVideos.postValue(videos);
-                
-                // Also update recently added (last 50 videos)
-                List<VideoModel> recentVideos = new ArrayList<>();
-                SortUtils.sortVideos(videos, SortUtils.SortType.DATE_NEW_TO_OLD);
-                int count = Math.min(50, videos.size());
-                for (int i = 0; i < count; i++) {
-                    recentVideos.add(videos.get(i));
+            public void onChunkLoaded(List<VideoModel> chunk) {
+                // Cold start without a catalog: rows reach the paged grid through the table as
+                // they are decoded. allVideos only gets the first screenful here and the full
+                // list from onSyncLoaded, so observers re-sort twice rather than once per chunk.
+                // A populated catalog (even one not yet published, e.g. after loadFolders() or a
+                // forced full scan) is left to reconcile, which diffs and re-snapshots it
+                if (hasCatalog) return;
+                videoCatalog.insertStreamed(chunk);
+                if (!firstChunkPublished) {
+                    firstChunkPublished = true;
+                    allVideos.postValue(new ArrayList<>(chunk));
+                    isLoading.postValue(false);
                 }
-                recentlyAddedVideos.postValue(recentVideos);
+            }
+
+            @Override
+            public void onSyncLoaded(VideoLoader.VideoSyncResult result) {
+                boolean changed = result.isFullScan()
+                        ? videoCatalog.reconcile(result.getVideos())
+                        : videoCatalog.applyDelta(result.getVideos(), result.getLiveIds());
+                mediaSyncState.save(result.getWatermark());
                 
+                // Only publish when the scan differs from what is already on screen
+                if (changed || !videosPublished) {
+                    // Folders index into the published list, so both views share the same VideoModels
+                    LibraryScan library = LibraryScan.fromVideos(videoCatalog.loadVideos());
+                    publishVideos(library.getVideos());
+                    if (foldersRequested) {
+                        allFolders.postValue(library.getFolders());
+                    }
+                }
                 isLoading.postValue(false);
+                onSyncFinished();
             }
 
             @Override
             public void onError(Exception error) {
-                errorMessage.postValue("Failed to load videos: " + error.getMessage());
+                if (videosPublished) {
+                    Log.e(TAG, "MediaStore reconciliation failed, keeping catalog", error);
+                } else {
+                    errorMessage.postValue("Failed to load videos: " + error.getMessage());
+                }
                 isLoading.postValue(false);
+                onSyncFinished();
             }
         });
     }
 
+    private void publishVideos(List<VideoModel> videos) {
+        videosPublished = true;
+        allVideos.postValue(videos);
+        
+        // Also update recently added (last 50 videos)
+        recentlyAddedVideos.postValue(SortUtils.topVideos(videos, SortUtils.SortType.DATE_NEW_TO_OLD, 50));
+    }
+
     public void loadFolders() {
+        foldersRequested = true;
         isLoading.setValue(true);
-        videoLoader.loadFolders(new VideoLoader.FolderLoadCallback() {
-            @Override
-            public void onFoldersLoaded(List<FolderModel> folders) {
-                allFolders.postValue(folders);
-                isLoading.postValue(false);
-            }
-
-            @Override
-            public void onError(Exception error) {
-                errorMessage.postValue("Failed to load folders: " + error.getMessage());
+        AppDatabase.databaseWriteExecutor.execute(() -> {
+            List<VideoModel> cachedVideos = videoCatalog.loadVideos();
+            if (!cachedVideos.isEmpty() || videosPublished) {
+                allFolders.postValue(LibraryScan.fromVideos(cachedVideos).getFolders());
                 isLoading.postValue(false);
             }
+            syncLibrary();
         });
     }
 
     public void loadVideosByFolder(String bucketId, VideoLoadCallback callback) {
+        loadVideosByFolder(bucketId, null, callback);
+    }
+
+    // Sorts on the loader thread before delivering; a null sort type keeps the MediaStore order
+    public void loadVideosByFolder(String bucketId, SortUtils.SortType sortType, VideoLoadCallback callback) {
         videoLoader.loadVideosByFolder(bucketId, new VideoLoader.VideoLoadCallback() {
             @Override
             public void onVideosLoaded(List<VideoModel> videos) {
+                if (sortType != null) {
+                    SortUtils.sortVideos(videos, sortType);
+                }
                 callback.onSuccess(videos);
             }
 
@@ -103,19 +262,19 @@ public class VideoRepository  {
                                                       SortUtils.SortType sortType,
                                                       FilterUtils.FilterCriteria filterCriteria) {
         if (videos == null) return new ArrayList<>();
+
+        // Published snapshots are immutable, so their sort permutations can be reused
+        if (sortType != null) {
+            return sortIndexCache.sortAndFilter(videos, sortType, filterCriteria);
+        }
         
         List<VideoModel> result = new ArrayList<>(videos);
         
-        // Apply filters first
+        // Apply filters only
         if (filterCriteria != null) {
             result = FilterUtils.filterVideos(result, filterCriteria);
         }
         
-        // Then apply sorting
-        if (sortType != null) {
-            SortUtils.sortVideos(result, sortType);
-        }
-        
         return result;
     }
 
@@ -156,9 +315,11 @@ public class VideoRepository  {
         });
     }
 
+    // One sync pass refreshes both videos and folders
     public void refreshData() {
-        loadAllVideos();
-        loadFolders();
+        foldersRequested = true;
+        isLoading.setValue(true);
+        syncLibrary();
     }
 
     public interface VideoLoadCallback {
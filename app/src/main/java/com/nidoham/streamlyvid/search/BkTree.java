@@ -0,0 +1,153 @@
+package com.nidoham.streamlyvid.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Burkhard-Keller tree over a set of terms under Levenshtein distance. A lookup for terms
+ * within distance {@code d} of a word only descends into children whose edge distance is
+ * within {@code d} of the current node's distance (triangle inequality), so it visits a
+ * small part of the vocabulary. Removed terms stay in the tree as tombstones, since the
+ * terms below them were placed by their distance to it; rebuild once too many accumulate.
+ */
+final class BkTree {
+
+    private static final class Node {
+        final String term;
+        boolean removed;
+        int[] childDistances = new int[0];
+        Node[] children = new Node[0];
+        int childCount;
+
+        Node(String term) {
+            this.term = term;
+        }
+
+        Node child(int distance) {
+            for (int i = 0; i < childCount; i++) {
+                if (childDistances[i] == distance) return children[i];
+            }
+            return null;
+        }
+
+        void addChild(int distance, Node child) {
+            if (childCount == children.length) {
+                int capacity = Math.max(2, childCount * 2);
+                childDistances = Arrays.copyOf(childDistances, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            childDistances[childCount] = distance;
+            children[childCount] = child;
+            childCount++;
+        }
+    }
+
+    private Node root;
+    private int size;
+    private int removedCount;
+    // Scratch rows for distance(); the tree is only used under its owner's lock
+    private int[] previousRow = new int[16];
+    private int[] currentRow = new int[16];
+
+    void add(String term) {
+        if (root == null) {
+            root = new Node(term);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(term, node.term);
+            if (distance == 0) {
+                if (node.removed) {
+                    node.removed = false;
+                    removedCount--;
+                    size++;
+                }
+                return;
+            }
+            Node child = node.child(distance);
+            if (child == null) {
+                node.addChild(distance, new Node(term));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    // Hides term from lookups; its node keeps routing searches to the terms below it
+    void remove(String term) {
+        Node node = root;
+        while (node != null) {
+            int distance = distance(term, node.term);
+            if (distance == 0) {
+                if (!node.removed) {
+                    node.removed = true;
+                    removedCount++;
+                    size--;
+                }
+                return;
+            }
+            node = node.child(distance);
+        }
+    }
+
+    // Live terms only
+    int size() {
+        return size;
+    }
+
+    int removedCount() {
+        return removedCount;
+    }
+
+    // Adds every term within maxDistance of word to out
+    void search(String word, int maxDistance, Collection<String> out) {
+        if (root == null) return;
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(word, node.term);
+            if (distance <= maxDistance && !node.removed) {
+                out.add(node.term);
+            }
+            for (int i = 0; i < node.childCount; i++) {
+                if (Math.abs(node.childDistances[i] - distance) <= maxDistance) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+    }
+
+    // Plain Levenshtein distance; BK-tree pruning needs the exact value, not a bounded one
+    private int distance(String a, String b) {
+        int m = a.length();
+        int n = b.length();
+        if (m == 0) return n;
+        if (n == 0) return m;
+        if (previousRow.length <= n) {
+            previousRow = new int[n + 1];
+            currentRow = new int[n + 1];
+        }
+        int[] previous = previousRow;
+        int[] current = currentRow;
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= m; i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= n; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[n];
+    }
+}
@@ -0,0 +1,135 @@
+package com.nidoham.streamlyvid.search;
+
+import com.nidoham.streamlyvid.database.RecentlyPlayedEntity;
+import com.nidoham.streamlyvid.model.VideoModel;
+import com.nidoham.streamlyvid.utils.SortUtils;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Scores one search hit against a query. Text relevance is the best weighted field match
+ * (title over display name over folder; whole-field and prefix matches over word-boundary
+ * matches over plain infix matches, then partial token matches). Videos the user played
+ * recently or often get a smaller boost on top, so it reorders close text matches only.
+ */
+final class RelevanceScorer {
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double DISPLAY_NAME_WEIGHT = 2.0;
+    private static final double FOLDER_WEIGHT = 1.0;
+
+    private static final double EXACT = 10.0;
+    private static final double PREFIX = 8.0;
+    private static final double WORD_BOUNDARY = 6.0;
+    private static final double INFIX = 3.0;
+    private static final double ALL_TOKENS = 4.0;
+
+    private static final double PLAY_COUNT_BOOST = 1.5;
+    private static final double RECENCY_BOOST = 3.0;
+    private static final double RECENCY_HALF_LIFE_DAYS = 14.0;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private final String needle;
+    private final List<String> tokens;
+    private final Map<Long, RecentlyPlayedEntity> playStats;
+    private final long now;
+
+    RelevanceScorer(String query, Map<Long, RecentlyPlayedEntity> playStats, long now) {
+        this.needle = query.toLowerCase(Locale.ROOT);
+        this.tokens = VideoSearchIndex.tokenize(query);
+        this.playStats = playStats != null ? playStats : Collections.emptyMap();
+        this.now = now;
+    }
+
+    double score(VideoModel video) {
+        double text = Math.max(TITLE_WEIGHT * fieldScore(video.getTitle()),
+                Math.max(DISPLAY_NAME_WEIGHT * fieldScore(video.getDisplayName()),
+                        FOLDER_WEIGHT * fieldScore(video.getBucketDisplayName())));
+        return text + playBoost(video.getId());
+    }
+
+    /**
+     * Sorts videos best first, scoring each once. Ties, and every hit of an empty query,
+     * fall back to the library's title order. checkpoint runs once per hit so a superseded
+     * search can abort by throwing.
+     */
+    List<VideoModel> rank(List<VideoModel> videos, Runnable checkpoint) {
+        Collator collator = SortUtils.newTitleCollator();
+        ScoredVideo[] scored = new ScoredVideo[videos.size()];
+        for (int i = 0; i < scored.length; i++) {
+            checkpoint.run();
+            VideoModel video = videos.get(i);
+            scored[i] = new ScoredVideo(video, needle.isEmpty() ? 0 : score(video),
+                    collator.getCollationKey(SortUtils.getSortTitle(video)));
+        }
+        checkpoint.run();
+        Arrays.sort(scored, (a, b) -> {
+            int result = Double.compare(b.score, a.score);
+            return result != 0 ? result : a.titleKey.compareTo(b.titleKey);
+        });
+
+        List<VideoModel> sorted = new ArrayList<>(scored.length);
+        for (ScoredVideo entry : scored) {
+            sorted.add(entry.video);
+        }
+        return sorted;
+    }
+
+    private double fieldScore(String field) {
+        if (field == null || needle.isEmpty()) return 0;
+        String text = field.toLowerCase(Locale.ROOT);
+        int index = text.indexOf(needle);
+        if (index == 0) {
+            return text.length() == needle.length() ? EXACT : PREFIX;
+        }
+        // Prefer an occurrence that starts a word ("the office" for "off") over one inside a word
+        while (index > 0) {
+            if (!Character.isLetterOrDigit(text.charAt(index - 1))) return WORD_BOUNDARY;
+            index = text.indexOf(needle, index + 1);
+        }
+        if (text.contains(needle)) return INFIX;
+        return tokenScore(text);
+    }
+
+    // Token-prefix matches that are not one contiguous substring ("office the" for "The Office")
+    private double tokenScore(String text) {
+        if (tokens.isEmpty()) return 0;
+        List<String> fieldTokens = VideoSearchIndex.tokenize(text);
+        int matched = 0;
+        for (String token : tokens) {
+            for (String fieldToken : fieldTokens) {
+                if (fieldToken.startsWith(token)) {
+                    matched++;
+                    break;
+                }
+            }
+        }
+        return ALL_TOKENS * matched / tokens.size();
+    }
+
+    private double playBoost(long videoId) {
+        RecentlyPlayedEntity played = playStats.get(videoId);
+        if (played == null) return 0;
+        double ageDays = Math.max(0, now - played.getLastPlayedTime()) / (double) DAY_MS;
+        double recency = RECENCY_BOOST * Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+        return recency + PLAY_COUNT_BOOST * Math.log1p(played.getPlayCount());
+    }
+
+    private static final class ScoredVideo {
+        final VideoModel video;
+        final double score;
+        final CollationKey titleKey;
+
+        ScoredVideo(VideoModel video, double score, CollationKey titleKey) {
+            this.video = video;
+            this.score = score;
+            this.titleKey = titleKey;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.nidoham.streamlyvid.search;
 
 import com.nidoham.streamlyvid.model.VideoModel;
+import com.nidoham.streamlyvid.utils.CompiledFilter;
 import com.nidoham.streamlyvid.utils.SortUtils;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -29,19 +31,24 @@ public class SearchFilter {
     private boolean filterByFormat = false;
     private boolean filterByResolution = false;
     private boolean filterByFolder = false;
+    // Rebuilt on the next compile() after any setter runs. Setters and compile() share the
+    // lock, so a compile on a worker thread never caches a filter built from replaced values
+    private volatile CompiledFilter compiled;
 
     public SearchFilter() {}
 
     // Size filters
-    public SearchFilter setMinSize(long minSizeMB) {
+    public synchronized SearchFilter setMinSize(long minSizeMB) {
         this.minSize = minSizeMB * 1024 * 1024;
         this.filterBySize = true;
+        this.compiled = null;
         return this;
     }
 
-    public SearchFilter setMaxSize(long maxSizeMB) {
+    public synchronized SearchFilter setMaxSize(long maxSizeMB) {
         this.maxSize = maxSizeMB * 1024 * 1024;
         this.filterBySize = true;
+        this.compiled = null;
         return this;
     }
 
@@ -52,15 +59,17 @@ public class SearchFilter {
     }
 
     // Duration filters
-    public SearchFilter setMinDuration(long minDurationSeconds) {
+    public synchronized SearchFilter setMinDuration(long minDurationSeconds) {
         this.minDuration = minDurationSeconds * 1000;
         this.filterByDuration = true;
+        this.compiled = null;
         return this;
     }
 
-    public SearchFilter setMaxDuration(long maxDurationSeconds) {
+    public synchronized SearchFilter setMaxDuration(long maxDurationSeconds) {
         this.maxDuration = maxDurationSeconds * 1000;
         this.filterByDuration = true;
+        this.compiled = null;
         return this;
     }
 
@@ -71,15 +80,17 @@ public class SearchFilter {
     }
 
     // Date filters
-    public SearchFilter setMinDateAdded(long minDateAdded) {
+    public synchronized SearchFilter setMinDateAdded(long minDateAdded) {
         this.minDateAdded = minDateAdded;
         this.filterByDate = true;
+        this.compiled = null;
         return this;
     }
 
-    public SearchFilter setMaxDateAdded(long maxDateAdded) {
+    public synchronized SearchFilter setMaxDateAdded(long maxDateAdded) {
         this.maxDateAdded = maxDateAdded;
         this.filterByDate = true;
+        this.compiled = null;
         return this;
     }
 
@@ -90,30 +101,34 @@ public class SearchFilter {
     }
 
     // Format filters
-    public SearchFilter addAllowedFormat(String format) {
-        this.allowedFormats.add(format.toLowerCase().startsWith(".") ? format.toLowerCase() : "." + format.toLowerCase());
+    public synchronized SearchFilter addAllowedFormat(String format) {
+        this.allowedFormats.add(CompiledFilter.normalizeFormat(format));
         this.filterByFormat = true;
+        this.compiled = null;
         return this;
     }
 
-    public SearchFilter addExcludedFormat(String format) {
-        this.excludedFormats.add(format.toLowerCase().startsWith(".") ? format.toLowerCase() : "." + format.toLowerCase());
+    public synchronized SearchFilter addExcludedFormat(String format) {
+        this.excludedFormats.add(CompiledFilter.normalizeFormat(format));
         this.filterByFormat = true;
+        this.compiled = null;
         return this;
     }
 
     // Resolution filters
-    public SearchFilter setMinResolution(int minWidth, int minHeight) {
+    public synchronized SearchFilter setMinResolution(int minWidth, int minHeight) {
         this.minWidth = minWidth;
         this.minHeight = minHeight;
         this.filterByResolution = true;
+        this.compiled = null;
         return this;
     }
 
-    public SearchFilter setMaxResolution(int maxWidth, int maxHeight) {
+    public synchronized SearchFilter setMaxResolution(int maxWidth, int maxHeight) {
         this.maxWidth = maxWidth;
         this.maxHeight = maxHeight;
         this.filterByResolution = true;
+        this.compiled = null;
         return this;
     }
 
@@ -124,15 +139,17 @@ public class SearchFilter {
     }
 
     // Folder filters
-    public SearchFilter addIncludedFolder(String folderName) {
+    public synchronized SearchFilter addIncludedFolder(String folderName) {
         this.includedFolders.add(folderName);
         this.filterByFolder = true;
+        this.compiled = null;
         return this;
     }
 
-    public SearchFilter addExcludedFolder(String folderName) {
+    public synchronized SearchFilter addExcludedFolder(String folderName) {
         this.excludedFolders.add(folderName);
         this.filterByFolder = true;
+        this.compiled = null;
         return this;
     }
 
@@ -144,67 +161,23 @@ public class SearchFilter {
 
     // Check if video matches all filter criteria
     public boolean matches(VideoModel video) {
-        // Size filter
-        if (filterBySize) {
-            if (video.getSize() < minSize || video.getSize() > maxSize) {
-                return false;
-            }
-        }
-
-        // Duration filter
-        if (filterByDuration) {
-            if (video.getDuration() < minDuration || video.getDuration() > maxDuration) {
-                return false;
-            }
-        }
-
-        // Date filter
-        if (filterByDate) {
-            long dateAdded = video.getDateAdded() * 1000; // Convert to milliseconds
-            if (dateAdded < minDateAdded || dateAdded > maxDateAdded) {
-                return false;
-            }
-        }
-
-        // Format filter
-        if (filterByFormat) {
-            String extension = video.getFileExtension();
-            
-            // Check excluded formats first
-            if (!excludedFormats.isEmpty() && excludedFormats.contains(extension)) {
-                return false;
-            }
-            
-            // Check allowed formats
-            if (!allowedFormats.isEmpty() && !allowedFormats.contains(extension)) {
-                return false;
-            }
-        }
-
-        // Resolution filter
-        if (filterByResolution) {
-            if (video.getWidth() < minWidth || video.getWidth() > maxWidth ||
-                video.getHeight() < minHeight || video.getHeight() > maxHeight) {
-                return false;
-            }
-        }
+        return compile().matches(video);
+    }
 
-        // Folder filter
-        if (filterByFolder) {
-            String folderName = video.getBucketDisplayName();
-            
-            // Check excluded folders first
-            if (!excludedFolders.isEmpty() && excludedFolders.contains(folderName)) {
-                return false;
-            }
-            
-            // Check included folders
-            if (!includedFolders.isEmpty() && !includedFolders.contains(folderName)) {
-                return false;
-            }
+    public synchronized CompiledFilter compile() {
+        CompiledFilter filter = compiled;
+        if (filter == null) {
+            CompiledFilter.Builder builder = new CompiledFilter.Builder();
+            if (filterBySize) builder.sizeRange(minSize, maxSize);
+            if (filterByDuration) builder.durationRange(minDuration, maxDuration);
+            if (filterByDate) builder.dateAddedRange(minDateAdded, maxDateAdded);
+            if (filterByResolution) builder.resolutionRange(minWidth, maxWidth, minHeight, maxHeight);
+            if (filterByFolder) builder.folders(includedFolders, excludedFolders);
+            if (filterByFormat) builder.formats(allowedFormats, excludedFormats);
+            filter = builder.build();
+            compiled = filter;
         }
-
-        return true;
+        return filter;
     }
 
     // Check if any filters are active
@@ -220,14 +193,14 @@ public class SearchFilter {
     public long getMaxDuration() { return maxDuration; }
     public long getMinDateAdded() { return minDateAdded; }
     public long getMaxDateAdded() { return maxDateAdded; }
-    public Set<String> getAllowedFormats() { return allowedFormats; }
-    public Set<String> getExcludedFormats() { return excludedFormats; }
+    public Set<String> getAllowedFormats() { return Collections.unmodifiableSet(allowedFormats); }
+    public Set<String> getExcludedFormats() { return Collections.unmodifiableSet(excludedFormats); }
     public int getMinWidth() { return minWidth; }
     public int getMaxWidth() { return maxWidth; }
     public int getMinHeight() { return minHeight; }
     public int getMaxHeight() { return maxHeight; }
-    public Set<String> getIncludedFolders() { return includedFolders; }
-    public Set<String> getExcludedFolders() { return excludedFolders; }
+    public Set<String> getIncludedFolders() { return Collections.unmodifiableSet(includedFolders); }
+    public Set<String> getExcludedFolders() { return Collections.unmodifiableSet(excludedFolders); }
     public SortUtils.SortType getSortType() { return sortType; }
     
     public boolean isFilterBySize() { return filterBySize; }
@@ -268,7 +241,7 @@ public class SearchFilter {
     }
 
     // Clear all filters
-    public void clear() {
+    public synchronized void clear() {
         minSize = 0;
         maxSize = Long.MAX_VALUE;
         minDuration = 0;
@@ -291,6 +264,7 @@ public class SearchFilter {
         filterByFormat = false;
         filterByResolution = false;
         filterByFolder = false;
+        compiled = null;
     }
 
     @Override
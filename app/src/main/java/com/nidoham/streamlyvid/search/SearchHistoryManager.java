@@ -2,106 +2,198 @@ package com.nidoham.streamlyvid.search;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.Log;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.lang.reflect.Type;
+import com.nidoham.streamlyvid.database.AppDatabase;
+import com.nidoham.streamlyvid.database.SearchHistoryDao;
+import com.nidoham.streamlyvid.database.SearchHistoryEntity;
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.json.JSONArray;
 
+/**
+ * Search history persisted in the {@code search_history} table. Entries are loaded once in
+ * the background; each search afterwards is a single-row update or insert. The history is
+ * ranked by how often and how recently each query was used.
+ */
 public class SearchHistoryManager {
+    private static final String TAG = "SearchHistoryManager";
+    // Pre-Room storage: a JSON array of queries, most recent first
     private static final String PREFS_NAME = "search_history";
     private static final String KEY_SEARCH_HISTORY = "search_queries";
     private static final int MAX_HISTORY_SIZE = 50;
-    
-    private final SharedPreferences prefs;
-    private final Gson gson;
-    private final MutableLiveData<List<String>> searchHistory = new MutableLiveData<>();
-    
+
+    // A use counts for half as much after this many days
+    private static final double RECENCY_HALF_LIFE_DAYS = 7.0;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private final Context context;
+    private final SearchHistoryDao historyDao;
+    // Single thread so loads and edits apply in the order they were made
+    private final ExecutorService historyExecutor = Executors.newSingleThreadExecutor();
+    private final MutableLiveData<List<String>> searchHistory = new MutableLiveData<>(new ArrayList<>());
+
+    // Query -> entry; only touched on historyExecutor
+    private final Map<String, SearchHistoryEntity> entries = new HashMap<>();
+
     public SearchHistoryManager(Context context) {
-        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        this.gson = new Gson();
-        loadSearchHistory();
+        this.context = context.getApplicationContext();
+        this.historyDao = AppDatabase.getDatabase(context).searchHistoryDao();
+        historyExecutor.execute(this::loadSearchHistory);
     }
-    
+
     public void addSearchQuery(String query) {
         if (query == null || query.trim().isEmpty()) return;
-        
-        query = query.trim();
-        List<String> history = getCurrentHistory();
-        
-        // Remove if already exists to avoid duplicates
-        history.remove(query);
-        
-        // Add to beginning
-        history.add(0, query);
-        
-        // Limit size
-        if (history.size() > MAX_HISTORY_SIZE) {
-            history = history.subList(0, MAX_HISTORY_SIZE);
-        }
-        
-        saveSearchHistory(history);
-        searchHistory.setValue(new ArrayList<>(history));
+
+        final String trimmed = query.trim();
+        final long now = System.currentTimeMillis();
+        historyExecutor.execute(() -> {
+            try {
+                boolean added = historyDao.recordQuery(trimmed, now);
+                SearchHistoryEntity entry = entries.get(trimmed);
+                if (entry == null) {
+                    entries.put(trimmed, new SearchHistoryEntity(trimmed, now, 1));
+                } else {
+                    entry.setLastUsed(now);
+                    entry.setUseCount(entry.getUseCount() + 1);
+                }
+                // Only a new row can push the table over its limit
+                if (added && entries.size() > MAX_HISTORY_SIZE) {
+                    historyDao.limitQueries(MAX_HISTORY_SIZE);
+                    // Take the survivors from the table rather than re-deriving the eviction
+                    reloadEntries();
+                }
+                publishHistory();
+            } catch (Exception e) {
+                Log.e(TAG, "Error saving search query", e);
+            }
+        });
     }
-    
+
+    // Past queries starting with query, best ranked first
     public List<String> getSearchSuggestions(String query, int maxSuggestions) {
-        if (query == null || query.trim().isEmpty()) {
-            return getCurrentHistory().stream()
-                    .limit(maxSuggestions)
-                    .collect(Collectors.toList());
-        }
-        
-        String lowerQuery = query.toLowerCase();
-        return getCurrentHistory().stream()
-                .filter(item -> item.toLowerCase().contains(lowerQuery))
-                .limit(maxSuggestions)
-                .collect(Collectors.toList());
+        return SearchSuggestions.getInstance().completeHistory(query, maxSuggestions);
     }
-    
+
     public LiveData<List<String>> getSearchHistory() {
         return searchHistory;
     }
-    
+
     public void removeSearchQuery(String query) {
-        List<String> history = getCurrentHistory();
-        if (history.remove(query)) {
-            saveSearchHistory(history);
-            searchHistory.setValue(new ArrayList<>(history));
-        }
+        historyExecutor.execute(() -> {
+            try {
+                if (entries.remove(query) != null) {
+                    historyDao.deleteQuery(query);
+                    publishHistory();
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error removing search query", e);
+            }
+        });
     }
-    
+
     public void clearSearchHistory() {
-        prefs.edit().remove(KEY_SEARCH_HISTORY).apply();
-        searchHistory.setValue(new ArrayList<>());
+        historyExecutor.execute(() -> {
+            try {
+                historyDao.clearAll();
+                entries.clear();
+                publishHistory();
+            } catch (Exception e) {
+                Log.e(TAG, "Error clearing search history", e);
+            }
+        });
     }
-    
-    private List<String> getCurrentHistory() {
-        List<String> current = searchHistory.getValue();
-        return current != null ? new ArrayList<>(current) : new ArrayList<>();
+
+    public void shutdown() {
+        historyExecutor.shutdown();
     }
-    
+
+    /**
+     * Orders history by frequency and recency: log-scaled use count, decayed by the time
+     * since the query was last used.
+     */
+    static List<String> rank(List<SearchHistoryEntity> history, long now) {
+        List<SearchHistoryEntity> ranked = new ArrayList<>(history);
+        Map<SearchHistoryEntity, Double> scores = new HashMap<>();
+        for (SearchHistoryEntity entry : ranked) {
+            double ageDays = Math.max(0, now - entry.getLastUsed()) / (double) DAY_MS;
+            double recency = Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+            scores.put(entry, (1 + Math.log(Math.max(1, entry.getUseCount()))) * recency);
+        }
+        ranked.sort((a, b) -> {
+            int result = Double.compare(scores.get(b), scores.get(a));
+            if (result != 0) return result;
+            // Same order as the table's reads and trims
+            result = Long.compare(b.getLastUsed(), a.getLastUsed());
+            return result != 0 ? result : a.getQuery().compareTo(b.getQuery());
+        });
+
+        List<String> queries = new ArrayList<>(ranked.size());
+        for (SearchHistoryEntity entry : ranked) {
+            queries.add(entry.getQuery());
+        }
+        return queries;
+    }
+
+    // Reads the stored history for callers without a manager, e.g. the suggestion provider
+    static List<String> loadRanked(Context context) {
+        List<SearchHistoryEntity> history =
+                AppDatabase.getDatabase(context).searchHistoryDao().getRecentQueries(MAX_HISTORY_SIZE);
+        return rank(history, System.currentTimeMillis());
+    }
+
     private void loadSearchHistory() {
+        try {
+            importLegacyHistory();
+            reloadEntries();
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading search history", e);
+        }
+        publishHistory();
+    }
+
+    // One-time move of the old SharedPreferences list into the table
+    private void importLegacyHistory() {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
         String json = prefs.getString(KEY_SEARCH_HISTORY, null);
-        if (json != null) {
-            try {
-                Type listType = new TypeToken<List<String>>(){}.getType();
-                List<String> history = gson.fromJson(json, listType);
-                searchHistory.setValue(history != null ? history : new ArrayList<>());
-            } catch (Exception e) {
-                searchHistory.setValue(new ArrayList<>());
-            }
-        } else {
-            searchHistory.setValue(new ArrayList<>());
+        if (json == null) return;
+
+        try {
+            JSONArray queries = new JSONArray(json);
+            long now = System.currentTimeMillis();
+            // All or nothing, so a retry does not count the same queries twice
+            AppDatabase.getDatabase(context).runInTransaction(() -> {
+                // Oldest first, one millisecond apart, so the old order survives as lastUsed order
+                for (int i = queries.length() - 1; i >= 0; i--) {
+                    String query = queries.optString(i, "").trim();
+                    if (!query.isEmpty()) {
+                        historyDao.recordQuery(query, now - i);
+                    }
+                }
+            });
+            prefs.edit().remove(KEY_SEARCH_HISTORY).apply();
+        } catch (Exception e) {
+            // Keep the old list so the next launch retries
+            Log.e(TAG, "Error importing legacy search history", e);
         }
     }
-    
-    private void saveSearchHistory(List<String> history) {
-        String json = gson.toJson(history);
-        prefs.edit().putString(KEY_SEARCH_HISTORY, json).apply();
+
+    private void reloadEntries() {
+        entries.clear();
+        for (SearchHistoryEntity entry : historyDao.getRecentQueries(MAX_HISTORY_SIZE)) {
+            entries.put(entry.getQuery(), entry);
+        }
+    }
+
+    // Keeps the LiveData and the suggestion trie in step
+    private void publishHistory() {
+        List<String> ranked = rank(new ArrayList<>(entries.values()), System.currentTimeMillis());
+        searchHistory.postValue(ranked);
+        SearchSuggestions.getInstance().setHistory(ranked);
     }
 }
@@ -1,36 +1,84 @@
 package com.nidoham.streamlyvid.search;
 
 import android.content.Context;
+import android.util.Log;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import com.nidoham.streamlyvid.database.AppDatabase;
+import com.nidoham.streamlyvid.database.RecentlyPlayedEntity;
+import com.nidoham.streamlyvid.database.VideoDao;
+import com.nidoham.streamlyvid.database.VideoEntity;
 import com.nidoham.streamlyvid.model.VideoModel;
 import com.nidoham.streamlyvid.model.FolderModel;
+import com.nidoham.streamlyvid.utils.CompiledFilter;
 import com.nidoham.streamlyvid.utils.FilterUtils;
 import com.nidoham.streamlyvid.utils.SortUtils;
+import com.nidoham.streamlyvid.utils.VideoBitmapIndex;
+import com.nidoham.streamlyvid.utils.VideoColumns;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SearchManager {
     private static final String TAG = "SearchManager";
+    // Typing pauses shorter than this coalesce into a single search
+    private static final long SEARCH_DEBOUNCE_MS = 250;
+    private static final int MAX_SUGGESTIONS = 10;
+    // Largest edit distance fuzzy mode accepts for long query tokens
+    private static final int FUZZY_MAX_DISTANCE = 2;
+
     private final Context context;
-    private final ExecutorService searchExecutor;
+    private final ScheduledExecutorService searchExecutor;
     private final SearchHistoryManager historyManager;
+    // Only updated and queried on the search thread
+    private final VideoSearchIndex searchIndex = new VideoSearchIndex();
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    private volatile TrigramIndex.Metrics indexMetrics;
+    private volatile Map<Long, RecentlyPlayedEntity> playStats = new HashMap<>();
+    private volatile boolean fuzzySearchEnabled = false;
+    private volatile boolean databaseSearchEnabled = false;
+    // False until the in-memory indexes hold a snapshot; text search uses the database until then
+    private volatile boolean indexesReady = false;
+    private final VideoDao videoDao;
+
+    // Last text search, for refining when the next query extends it; search thread only
+    private String lastTextQuery;
+    private CompiledFilter lastTextFilter;
+    private List<VideoModel> lastTextResults;
     
+    // Bumped by every new search; a search whose generation is no longer current stops and publishes nothing
+    private final AtomicInteger searchGeneration = new AtomicInteger();
+    private ScheduledFuture<?> pendingSearch;
+
     private final MutableLiveData<List<VideoModel>> searchResults = new MutableLiveData<>();
     private final MutableLiveData<List<FolderModel>> folderSearchResults = new MutableLiveData<>();
     private final MutableLiveData<Boolean> isSearching = new MutableLiveData<>(false);
     private final MutableLiveData<String> currentQuery = new MutableLiveData<>("");
     private final MutableLiveData<SearchFilter> currentFilter = new MutableLiveData<>();
     
-    private List<VideoModel> allVideos = new ArrayList<>();
-    private List<FolderModel> allFolders = new ArrayList<>();
+    // Replaced on the caller's thread, read on the search thread; never modified in place
+    private volatile List<VideoModel> allVideos = new ArrayList<>();
+    private volatile List<FolderModel> allFolders = new ArrayList<>();
+
+    // Filter bitmaps for the allVideos snapshot; built lazily, only touched on the search thread
+    private List<VideoModel> indexedVideos;
+    private VideoBitmapIndex filterIndex;
 
     public SearchManager(Context context) {
         this.context = context.getApplicationContext();
-        this.searchExecutor = Executors.newSingleThreadExecutor();
+        this.searchExecutor = Executors.newSingleThreadScheduledExecutor();
         this.historyManager = new SearchHistoryManager(context);
+        this.videoDao = AppDatabase.getDatabase(context).videoDao();
     }
 
     // LiveData getters
@@ -43,6 +91,62 @@ public class SearchManager {
     // Set data sources
     public void setAllVideos(List<VideoModel> videos) {
         this.allVideos = videos != null ? new ArrayList<>(videos) : new ArrayList<>();
+        List<VideoModel> snapshot = this.allVideos;
+        searchExecutor.execute(() -> updateIndexes(snapshot));
+    }
+
+    private void updateIndexes(List<VideoModel> videos) {
+        searchIndex.update(videos);
+        trigramIndex.update(videos);
+        indexMetrics = trigramIndex.getMetrics();
+        indexesReady = true;
+        SearchSuggestions.getInstance().setLibrary(videos);
+        if (fuzzySearchEnabled) {
+            searchIndex.prepareFuzzy();
+        }
+        // Earlier results may reference videos that changed or are gone
+        lastTextQuery = null;
+        lastTextResults = null;
+        Log.d(TAG, "Search indexes updated: " + indexMetrics);
+    }
+
+    // Size and last update time of the substring index; null until the first update
+    public TrigramIndex.Metrics getIndexMetrics() {
+        return indexMetrics;
+    }
+
+    // Play count and last play time per video id, used to boost relevance
+    public void setRecentlyPlayed(List<RecentlyPlayedEntity> recentlyPlayed) {
+        Map<Long, RecentlyPlayedEntity> stats = new HashMap<>();
+        if (recentlyPlayed != null) {
+            for (RecentlyPlayedEntity entity : recentlyPlayed) {
+                stats.put(entity.getVideoId(), entity);
+            }
+        }
+        this.playStats = stats;
+    }
+
+    /**
+     * Typo tolerance: query tokens also match indexed words a small edit distance away
+     * ("ofice" finds "office"). Off by default.
+     */
+    public void setFuzzySearchEnabled(boolean enabled) {
+        fuzzySearchEnabled = enabled;
+        if (enabled) {
+            searchExecutor.execute(searchIndex::prepareFuzzy);
+        }
+    }
+
+    public boolean isFuzzySearchEnabled() {
+        return fuzzySearchEnabled;
+    }
+
+    /**
+     * Answers text queries from the persisted FTS table instead of the in-memory indexes.
+     * Matches whole words by prefix only, without substring or fuzzy matching.
+     */
+    public void setDatabaseSearchEnabled(boolean enabled) {
+        databaseSearchEnabled = enabled;
     }
 
     public void setAllFolders(List<FolderModel> folders) {
@@ -50,11 +154,28 @@ public class SearchManager {
     }
 
     // Search methods
+
+    /**
+     * Search-as-you-type entry point: runs after a short pause in calls, and a newer call
+     * cancels the previous search. Does not record history; use {@link #commitSearch}.
+     */
     public void searchVideos(String query) {
         searchVideos(query, currentFilter.getValue());
     }
 
     public void searchVideos(String query, SearchFilter filter) {
+        scheduleSearch(query, filter, SEARCH_DEBOUNCE_MS);
+    }
+
+    // A submitted query: searched right away and added to the search history
+    public void commitSearch(String query) {
+        if (query != null && !query.trim().isEmpty()) {
+            historyManager.addSearchQuery(query.trim());
+        }
+        scheduleSearch(query, currentFilter.getValue(), 0);
+    }
+
+    private void scheduleSearch(String query, SearchFilter filter, long delayMs) {
         if (query == null) query = "";
         
         final String finalQuery = query; // Make it effectively final
@@ -62,75 +183,132 @@ public class SearchManager {
         
         currentQuery.setValue(finalQuery);
         currentFilter.setValue(finalFilter);
+
+        final int generation = cancelPendingSearch();
         
         if (finalQuery.trim().isEmpty() && (finalFilter == null || !finalFilter.hasActiveFilters())) {
             searchResults.setValue(new ArrayList<>());
             folderSearchResults.setValue(new ArrayList<>());
+            isSearching.setValue(false);
             return;
         }
 
         isSearching.setValue(true);
         
-        searchExecutor.execute(() -> {
+        pendingSearch = searchExecutor.schedule(() -> {
             try {
                 final String trimmedQuery = finalQuery.trim(); // Create final variable for lambda
-                List<VideoModel> results = performVideoSearch(trimmedQuery, finalFilter);
-                List<FolderModel> folderResults = performFolderSearch(trimmedQuery);
-            
-                searchResults.postValue(results);
-                folderSearchResults.postValue(folderResults);
-            
-                // Add to search history if query is not empty
-                if (!trimmedQuery.isEmpty()) {
-                    historyManager.addSearchQuery(trimmedQuery);
+                List<VideoModel> results = performVideoSearch(trimmedQuery, finalFilter, generation);
+                List<FolderModel> folderResults = performFolderSearch(trimmedQuery, generation);
+
+                // A newer search may have started after the last check; it publishes instead
+                if (isCurrent(generation)) {
+                    searchResults.postValue(results);
+                    folderSearchResults.postValue(folderResults);
+                    isSearching.postValue(false);
                 }
-            
+            } catch (CancellationException e) {
+                // Superseded by a newer search
             } catch (Exception e) {
-                searchResults.postValue(new ArrayList<>());
-                folderSearchResults.postValue(new ArrayList<>());
-            } finally {
-                isSearching.postValue(false);
+                Log.e(TAG, "Search failed", e);
+                if (isCurrent(generation)) {
+                    searchResults.postValue(new ArrayList<>());
+                    folderSearchResults.postValue(new ArrayList<>());
+                    isSearching.postValue(false);
+                }
             }
-        });
+        }, delayMs, TimeUnit.MILLISECONDS);
     }
 
-    private List<VideoModel> performVideoSearch(String query, SearchFilter filter) {
-        List<VideoModel> results = new ArrayList<>();
-        
-        for (VideoModel video : allVideos) {
-            if (matchesSearchCriteria(video, query, filter)) {
-                results.add(video);
+    // Drops a search still waiting out its debounce and marks a running one stale
+    private int cancelPendingSearch() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+            pendingSearch = null;
+        }
+        return searchGeneration.incrementAndGet();
+    }
+
+    private boolean isCurrent(int generation) {
+        return generation == searchGeneration.get();
+    }
+
+    // Cooperative cancellation point for the search thread
+    private void checkCurrent(int generation) {
+        if (!isCurrent(generation)) {
+            throw new CancellationException();
+        }
+    }
+
+    private List<VideoModel> performVideoSearch(String query, SearchFilter filter, int generation) {
+        List<VideoModel> results;
+        boolean filtering = filter != null && filter.hasActiveFilters();
+
+        if (!query.isEmpty()) {
+            CompiledFilter compiled = filtering ? filter.compile() : CompiledFilter.MATCH_ALL;
+            boolean fuzzy = fuzzySearchEnabled;
+            boolean database = databaseSearchEnabled || !indexesReady;
+            if (database) {
+                // Persisted full-text index: no in-memory state needed, e.g. right after a cold start
+                List<VideoModel> matches = findDatabaseMatches(query);
+                checkCurrent(generation);
+                results = compiled.filter(matches);
+            } else if (!fuzzy && canRefine(query, compiled)) {
+                // The new query is stricter, so its hits are a subset of the previous ones
+                results = new ArrayList<>();
+                for (VideoModel video : lastTextResults) {
+                    checkCurrent(generation);
+                    if (searchIndex.matches(video, query) || trigramIndex.matches(video, query)) {
+                        results.add(video);
+                    }
+                }
+            } else {
+                // Token-prefix hits plus substring hits; the filter only checks those
+                List<VideoModel> matches = findTextMatches(query, fuzzy);
+                checkCurrent(generation);
+                results = compiled.filter(matches);
             }
+            // Fuzzy hits for a longer query are not a subset of the shorter query's hits, and
+            // database hits are not backed by the in-memory documents refinement checks against
+            lastTextQuery = query;
+            lastTextFilter = compiled;
+            lastTextResults = fuzzy || database ? null : new ArrayList<>(results);
+        } else if (filtering) {
+            // Categorical parts of the filter resolve through bitmaps
+            List<VideoModel> videos = allVideos;
+            int[] rows = filter.compile().select(getFilterIndex(videos), null);
+            results = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                results.add(videos.get(row));
+            }
+        } else {
+            results = new ArrayList<>(allVideos);
         }
+        checkCurrent(generation);
         
         // Apply sorting if specified in filter
         if (filter != null && filter.getSortType() != null) {
             SortUtils.sortVideos(results, filter.getSortType());
         } else {
-            // Default sort by relevance (title matches first, then other matches)
-            results.sort((v1, v2) -> {
-                boolean v1TitleMatch = matchesTitle(v1, query);
-                boolean v2TitleMatch = matchesTitle(v2, query);
-                
-                if (v1TitleMatch && !v2TitleMatch) return -1;
-                if (!v1TitleMatch && v2TitleMatch) return 1;
-                
-                // If both or neither match title, sort by title alphabetically
-                String title1 = v1.getTitle() != null ? v1.getTitle() : v1.getDisplayName();
-                String title2 = v2.getTitle() != null ? v2.getTitle() : v2.getDisplayName();
-                return title1.compareToIgnoreCase(title2);
-            });
+            // Default sort by relevance, then alphabetically by title
+            results = sortByRelevance(results, query, generation);
         }
         
         return results;
     }
 
-    private List<FolderModel> performFolderSearch(String query) {
+    private List<VideoModel> sortByRelevance(List<VideoModel> videos, String query, int generation) {
+        RelevanceScorer scorer = new RelevanceScorer(query, playStats, System.currentTimeMillis());
+        return scorer.rank(videos, () -> checkCurrent(generation));
+    }
+
+    private List<FolderModel> performFolderSearch(String query, int generation) {
         List<FolderModel> results = new ArrayList<>();
         
         if (query.isEmpty()) return results;
         
         for (FolderModel folder : allFolders) {
+            checkCurrent(generation);
             if (folder.getBucketDisplayName() != null && 
                 folder.getBucketDisplayName().toLowerCase().contains(query.toLowerCase())) {
                 results.add(folder);
@@ -143,71 +321,88 @@ public class SearchManager {
         return results;
     }
 
-    private boolean matchesSearchCriteria(VideoModel video, String query, SearchFilter filter) {
-        // First check if video matches the query
-        if (!query.isEmpty() && !matchesQuery(video, query)) {
-            return false;
+    /**
+     * A query that extends the previous one (case-insensitively) under the same compiled
+     * filter can only match a subset of the previous hits, for both token-prefix and
+     * substring matching. A mutated filter compiles to a new instance, so identity is enough.
+     */
+    private boolean canRefine(String query, CompiledFilter compiled) {
+        return lastTextResults != null &&
+                compiled == lastTextFilter &&
+                query.length() > lastTextQuery.length() &&
+                query.regionMatches(true, 0, lastTextQuery, 0, lastTextQuery.length());
+    }
+
+    private List<VideoModel> findTextMatches(String query, boolean fuzzy) {
+        List<VideoModel> matches = fuzzy ?
+                searchIndex.searchFuzzy(query, FUZZY_MAX_DISTANCE) : searchIndex.search(query);
+        Set<Long> seen = new HashSet<>(matches.size() * 2);
+        for (VideoModel video : matches) {
+            seen.add(video.getId());
         }
-        
-        // Then apply additional filters
-        if (filter != null) {
-            return filter.matches(video);
+        for (VideoModel video : trigramIndex.search(query)) {
+            if (seen.add(video.getId())) {
+                matches.add(video);
+            }
         }
-        
-        return true;
+        return matches;
     }
 
-    private boolean matchesQuery(VideoModel video, String query) {
-        String lowerQuery = query.toLowerCase();
-        
-        // Check title
-        if (matchesTitle(video, query)) return true;
-        
-        // Check display name
-        if (video.getDisplayName() != null && 
-            video.getDisplayName().toLowerCase().contains(lowerQuery)) {
-            return true;
-        }
-        
-        // Check folder name
-        if (video.getBucketDisplayName() != null && 
-            video.getBucketDisplayName().toLowerCase().contains(lowerQuery)) {
-            return true;
+    private List<VideoModel> findDatabaseMatches(String query) {
+        List<VideoModel> matches = new ArrayList<>();
+        String matchQuery = toMatchQuery(query);
+        if (matchQuery == null) {
+            return matches;
         }
-        
-        // Check file extension
-        if (video.getFileExtension().toLowerCase().contains(lowerQuery)) {
-            return true;
+        for (VideoEntity entity : videoDao.searchVideos(matchQuery)) {
+            matches.add(entity.toVideoModel());
         }
-        
-        // Check resolution
-        if (video.getResolution() != null && 
-            video.getResolution().toLowerCase().contains(lowerQuery)) {
-            return true;
+        return matches;
+    }
+
+    /**
+     * FTS4 MATCH expression requiring every word of the query as a prefix ("big buck" ->
+     * {@code big* buck*}). Words are split on anything but letters and digits, which also
+     * strips FTS operators and quotes. Returns null if the query has no words.
+     */
+    static String toMatchQuery(String query) {
+        StringBuilder match = new StringBuilder();
+        String lower = query.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (match.length() > 0) match.append(' ');
+                match.append(lower, start, i).append('*');
+                start = -1;
+            }
         }
-        
-        return false;
+        return match.length() > 0 ? match.toString() : null;
     }
 
-    private boolean matchesTitle(VideoModel video, String query) {
-        if (video.getTitle() != null) {
-            return video.getTitle().toLowerCase().contains(query.toLowerCase());
+    private VideoBitmapIndex getFilterIndex(List<VideoModel> videos) {
+        if (videos != indexedVideos) {
+            filterIndex = VideoBitmapIndex.of(VideoColumns.of(videos));
+            indexedVideos = videos;
         }
-        return false;
+        return filterIndex;
     }
 
     // Filter methods
     public void applyFilter(SearchFilter filter) {
-        searchVideos(currentQuery.getValue(), filter);
+        scheduleSearch(currentQuery.getValue(), filter, 0);
     }
 
     public void clearFilter() {
-        searchVideos(currentQuery.getValue(), null);
+        scheduleSearch(currentQuery.getValue(), null, 0);
     }
 
     // Search suggestions
+    // Past queries and title words completing query
     public List<String> getSearchSuggestions(String query) {
-        return historyManager.getSearchSuggestions(query, 10);
+        return SearchSuggestions.getInstance().complete(query, MAX_SUGGESTIONS);
     }
 
     public LiveData<List<String>> getSearchHistory() {
@@ -222,36 +417,38 @@ public class SearchManager {
     public void searchByFormat(String format) {
         SearchFilter filter = new SearchFilter();
         filter.addAllowedFormat(format);
-        searchVideos("", filter);
+        scheduleSearch("", filter, 0);
     }
 
     public void searchByFolder(String folderName) {
         SearchFilter filter = new SearchFilter();
         filter.addIncludedFolder(folderName);
-        searchVideos("", filter);
+        scheduleSearch("", filter, 0);
     }
 
     public void searchByResolution(int minWidth, int minHeight) {
         SearchFilter filter = new SearchFilter();
         filter.setMinResolution(minWidth, minHeight);
-        searchVideos("", filter);
+        scheduleSearch("", filter, 0);
     }
 
     public void searchLargeFiles(long minSizeMB) {
         SearchFilter filter = new SearchFilter();
         filter.setMinSize(minSizeMB);
-        searchVideos("", filter);
+        scheduleSearch("", filter, 0);
     }
 
     public void searchRecentVideos(int days) {
         SearchFilter filter = new SearchFilter();
         long cutoffTime = System.currentTimeMillis() - (days * 24 * 60 * 60 * 1000L);
         filter.setMinDateAdded(cutoffTime);
-        searchVideos("", filter);
+        scheduleSearch("", filter, 0);
     }
 
     // Clear search
     public void clearSearch() {
+        cancelPendingSearch();
+        isSearching.setValue(false);
         currentQuery.setValue("");
         currentFilter.setValue(null);
         searchResults.setValue(new ArrayList<>());
@@ -260,7 +457,9 @@ public class SearchManager {
 
     public void shutdown() {
         if (searchExecutor != null && !searchExecutor.isShutdown()) {
-            searchExecutor.shutdown();
+            searchGeneration.incrementAndGet();
+            searchExecutor.shutdownNow();
         }
+        historyManager.shutdown();
     }
 }
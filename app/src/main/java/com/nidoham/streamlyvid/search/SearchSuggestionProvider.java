@@ -1,12 +1,80 @@
 package com.nidoham.streamlyvid.search;
 
-import android.content.SearchRecentSuggestionsProvider;
+import android.app.SearchManager;
+import android.content.ContentProvider;
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.MatrixCursor;
+import android.net.Uri;
+import android.provider.BaseColumns;
+import java.util.List;
 
-public class SearchSuggestionProvider extends SearchRecentSuggestionsProvider {
+// Serves system search UI suggestions from the same tries the in-app search box uses
+public class SearchSuggestionProvider extends ContentProvider {
     public final static String AUTHORITY = "com.nidoham.streamlyvid.search.SearchSuggestionProvider";
-    public final static int MODE = DATABASE_MODE_QUERIES;
+    private static final int MAX_SUGGESTIONS = 10;
 
-    public SearchSuggestionProvider() {
-        setupSuggestions(AUTHORITY, MODE);
+    private static final String[] COLUMNS = {
+            BaseColumns._ID,
+            SearchManager.SUGGEST_COLUMN_TEXT_1,
+            SearchManager.SUGGEST_COLUMN_QUERY
+    };
+
+    @Override
+    public boolean onCreate() {
+        return true;
+    }
+
+    @Override
+    public Cursor query(Uri uri, String[] projection, String selection, String[] selectionArgs, String sortOrder) {
+        // The query arrives as a selection argument or as the last path segment, depending on searchable.xml
+        String query = "";
+        if (selectionArgs != null && selectionArgs.length > 0 && selectionArgs[0] != null) {
+            query = selectionArgs[0];
+        } else if (!SearchManager.SUGGEST_URI_PATH_QUERY.equals(uri.getLastPathSegment())) {
+            query = uri.getLastPathSegment();
+        }
+
+        String limit = uri.getQueryParameter(SearchManager.SUGGEST_PARAMETER_LIMIT);
+        int maxSuggestions = MAX_SUGGESTIONS;
+        if (limit != null) {
+            try {
+                maxSuggestions = Math.min(MAX_SUGGESTIONS, Integer.parseInt(limit));
+            } catch (NumberFormatException ignored) {
+                // Keep the default
+            }
+        }
+
+        SearchSuggestions source = SearchSuggestions.getInstance();
+        // The app's search screen may not have run in this process yet; provider queries run off the main thread
+        source.loadHistoryIfAbsent(getContext());
+        List<String> suggestions = source.complete(query, maxSuggestions);
+        MatrixCursor cursor = new MatrixCursor(COLUMNS, suggestions.size());
+        for (int i = 0; i < suggestions.size(); i++) {
+            String suggestion = suggestions.get(i);
+            cursor.addRow(new Object[]{i, suggestion, suggestion});
+        }
+        return cursor;
+    }
+
+    @Override
+    public String getType(Uri uri) {
+        return SearchManager.SUGGEST_MIME_TYPE;
+    }
+
+    // Read-only: writes are ignored rather than crashing a caller that probes the provider
+    @Override
+    public Uri insert(Uri uri, ContentValues values) {
+        return null;
+    }
+
+    @Override
+    public int delete(Uri uri, String selection, String[] selectionArgs) {
+        return 0;
+    }
+
+    @Override
+    public int update(Uri uri, ContentValues values, String selection, String[] selectionArgs) {
+        return 0;
     }
 }
@@ -0,0 +1,125 @@
+package com.nidoham.streamlyvid.search;
+
+import android.content.Context;
+import com.nidoham.streamlyvid.model.VideoModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Process-wide completions for the search box, shared by {@link SearchManager} and
+ * {@link SearchSuggestionProvider}. Past queries come first, ranked by use; words from
+ * library titles follow, ranked by how many titles contain them. Each source is a separate
+ * {@link SuggestionTrie}, so a new history entry does not rebuild the library trie.
+ */
+public final class SearchSuggestions {
+
+    // Any past query outranks any title word
+    private static final double HISTORY_WEIGHT = 1_000_000;
+    // Shorter words are mostly noise ("of", "hd") as completions
+    private static final int MIN_WORD_LENGTH = 3;
+
+    private static final SearchSuggestions INSTANCE = new SearchSuggestions();
+
+    private volatile SuggestionTrie history = SuggestionTrie.EMPTY;
+    private volatile SuggestionTrie library = SuggestionTrie.EMPTY;
+    private volatile boolean historyLoaded = false;
+
+    private SearchSuggestions() {}
+
+    public static SearchSuggestions getInstance() {
+        return INSTANCE;
+    }
+
+    // Queries ordered best first, as ranked by SearchHistoryManager
+    synchronized void setHistory(List<String> queries) {
+        history = buildHistory(queries);
+        historyLoaded = true;
+    }
+
+    /**
+     * Fills the history from the table when nothing has published it yet in this process.
+     * The table is read outside the lock; if SearchHistoryManager published in the meantime,
+     * its newer history is kept and the snapshot is dropped.
+     */
+    void loadHistoryIfAbsent(Context context) {
+        if (historyLoaded) return;
+        SuggestionTrie loaded = buildHistory(SearchHistoryManager.loadRanked(context));
+        synchronized (this) {
+            if (!historyLoaded) {
+                history = loaded;
+                historyLoaded = true;
+            }
+        }
+    }
+
+    private static SuggestionTrie buildHistory(List<String> queries) {
+        Map<String, Double> weights = new HashMap<>();
+        int count = queries.size();
+        for (int i = 0; i < count; i++) {
+            weights.merge(queries.get(i), HISTORY_WEIGHT + count - i, Math::max);
+        }
+        return SuggestionTrie.build(weights);
+    }
+
+    void setLibrary(List<VideoModel> videos) {
+        Map<String, Double> weights = new HashMap<>();
+        List<String> words = new ArrayList<>();
+        for (VideoModel video : videos) {
+            words.clear();
+            VideoSearchIndex.addTokens(video.getTitle(), words);
+            for (String word : words) {
+                if (word.length() >= MIN_WORD_LENGTH && !Character.isDigit(word.charAt(0))) {
+                    weights.merge(word, 1.0, Double::sum);
+                }
+            }
+        }
+        library = SuggestionTrie.build(weights);
+    }
+
+    // Past queries starting with prefix (all of them, best first, for an empty prefix)
+    public List<String> completeHistory(String prefix, int limit) {
+        return texts(history.complete(prefix != null ? prefix.trim() : "", limit));
+    }
+
+    /**
+     * Up to limit completions of prefix: matching past queries, then matching title words.
+     * An empty prefix returns recent queries only.
+     */
+    public List<String> complete(String prefix, int limit) {
+        String trimmed = prefix != null ? prefix.trim() : "";
+        if (trimmed.isEmpty()) {
+            return completeHistory(trimmed, limit);
+        }
+
+        Map<String, String> merged = new LinkedHashMap<>();
+        for (SuggestionTrie.Suggestion suggestion : history.complete(trimmed, limit)) {
+            merged.putIfAbsent(suggestion.text.toLowerCase(Locale.ROOT), suggestion.text);
+        }
+        if (merged.size() < limit) {
+            // A query such as "big buck" completes its last word from the titles
+            int lastSpace = trimmed.lastIndexOf(' ');
+            String head = trimmed.substring(0, lastSpace + 1);
+            String word = trimmed.substring(lastSpace + 1);
+            if (!word.isEmpty()) {
+                for (SuggestionTrie.Suggestion suggestion : library.complete(word, limit)) {
+                    String text = head + suggestion.text;
+                    merged.putIfAbsent(text.toLowerCase(Locale.ROOT), text);
+                    if (merged.size() == limit) break;
+                }
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static List<String> texts(List<SuggestionTrie.Suggestion> suggestions) {
+        List<String> texts = new ArrayList<>(suggestions.size());
+        for (SuggestionTrie.Suggestion suggestion : suggestions) {
+            texts.add(suggestion.text);
+        }
+        return texts;
+    }
+}
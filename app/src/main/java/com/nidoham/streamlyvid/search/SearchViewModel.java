@@ -12,6 +12,9 @@ import com.nidoham.streamlyvid.repository.VideoRepository;
 import java.util.List;
 
 public class SearchViewModel extends AndroidViewModel {
+    // Same cap the repository keeps in recently_played
+    private static final int RECENTLY_PLAYED_LIMIT = 100;
+
     private final SearchManager searchManager;
     private final VideoRepository videoRepository;
     private final MediatorLiveData<List<VideoModel>> allVideosMediator = new MediatorLiveData<>();
@@ -34,6 +37,10 @@ public class SearchViewModel extends AndroidViewModel {
             }
         });
         
+        // Recently played videos rank higher among similar matches
+        allVideosMediator.addSource(videoRepository.getRecentlyPlayedVideos(RECENTLY_PLAYED_LIMIT),
+                searchManager::setRecentlyPlayed);
+
         allFoldersMediator.addSource(videoRepository.getAllFolders(), folders -> {
             if (folders != null) {
                 searchManager.setAllFolders(folders);
@@ -47,6 +54,11 @@ public class SearchViewModel extends AndroidViewModel {
         searchManager.searchVideos(query);
     }
 
+    // Query submitted by the user; unlike search() it is recorded in the history
+    public void submitSearch(String query) {
+        searchManager.commitSearch(query);
+    }
+
     public void searchWithFilter(String query, SearchFilter filter) {
         searchManager.searchVideos(query, filter);
     }
@@ -59,6 +71,14 @@ public class SearchViewModel extends AndroidViewModel {
         searchManager.clearFilter();
     }
 
+    public void setFuzzySearchEnabled(boolean enabled) {
+        searchManager.setFuzzySearchEnabled(enabled);
+    }
+
+    public void setDatabaseSearchEnabled(boolean enabled) {
+        searchManager.setDatabaseSearchEnabled(enabled);
+    }
+
     public void clearSearch() {
         searchManager.clearSearch();
     }
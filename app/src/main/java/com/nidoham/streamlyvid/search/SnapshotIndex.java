@@ -0,0 +1,183 @@
+package com.nidoham.streamlyvid.search;
+
+import com.nidoham.streamlyvid.model.VideoModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bookkeeping shared by the search indexes: every video gets a dense int ordinal, and
+ * {@link #update} diffs a new library snapshot against the indexed one so only new,
+ * changed and removed videos touch the postings. Subclasses decide what is indexed.
+ * Not thread-safe; callers confine an index to one thread or synchronize.
+ */
+abstract class SnapshotIndex<D extends SnapshotIndex.Document> {
+
+    static class Document {
+        final int ordinal;
+        VideoModel video;
+
+        Document(int ordinal, VideoModel video) {
+            this.ordinal = ordinal;
+            this.video = video;
+        }
+    }
+
+    private final Map<Long, D> documentsById = new HashMap<>();
+    // Indexed by ordinal; null once the document is removed, until the next compaction
+    private final List<D> documents = new ArrayList<>();
+    private int removedCount = 0;
+
+    // Builds the document for a video entering the index (tokenizing it, etc.)
+    protected abstract D createDocument(int ordinal, VideoModel video);
+
+    // Same indexed content under a new ordinal, used by compaction
+    protected abstract D renumber(D document, int ordinal);
+
+    protected abstract void index(D document);
+
+    protected abstract void unindex(D document);
+
+    // Drops every posting; compaction re-indexes the survivors afterwards
+    protected abstract void clearPostings();
+
+    public void update(List<VideoModel> videos) {
+        Set<Long> liveIds = new HashSet<>(videos.size() * 2);
+        for (VideoModel video : videos) {
+            liveIds.add(video.getId());
+            D existing = documentsById.get(video.getId());
+            if (existing == null) {
+                append(createDocument(documents.size(), video));
+            } else if (!existing.video.hasSameContent(video)) {
+                remove(existing);
+                append(createDocument(documents.size(), video));
+            } else {
+                existing.video = video;
+            }
+        }
+
+        List<D> stale = new ArrayList<>();
+        for (D document : documentsById.values()) {
+            if (!liveIds.contains(document.video.getId())) {
+                stale.add(document);
+            }
+        }
+        for (D document : stale) {
+            remove(document);
+        }
+
+        if (removedCount > documents.size() / 2) {
+            compact();
+        }
+    }
+
+    public int size() {
+        return documentsById.size();
+    }
+
+    // Ordinals handed out so far, including removed ones; the width of ordinal bitsets
+    protected int ordinalCount() {
+        return documents.size();
+    }
+
+    protected D document(int ordinal) {
+        return documents.get(ordinal);
+    }
+
+    // Indexed document of a video, or null if the video is not in the index
+    protected D documentFor(VideoModel video) {
+        return documentsById.get(video.getId());
+    }
+
+    protected List<VideoModel> collect(long[] bits) {
+        List<VideoModel> result = new ArrayList<>();
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                result.add(documents.get((w << 6) + Long.numberOfTrailingZeros(word)).video);
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    protected List<VideoModel> allVideos() {
+        List<VideoModel> result = new ArrayList<>(documentsById.size());
+        for (D document : documents) {
+            if (document != null) {
+                result.add(document.video);
+            }
+        }
+        return result;
+    }
+
+    private void append(D document) {
+        documents.add(document);
+        documentsById.put(document.video.getId(), document);
+        index(document);
+    }
+
+    private void remove(D document) {
+        documentsById.remove(document.video.getId());
+        documents.set(document.ordinal, null);
+        removedCount++;
+        unindex(document);
+    }
+
+    // Renumbers the surviving documents densely so bitsets stay proportional to the library
+    private void compact() {
+        List<D> survivors = new ArrayList<>(documentsById.size());
+        for (D document : documents) {
+            if (document != null) {
+                survivors.add(document);
+            }
+        }
+        documents.clear();
+        documentsById.clear();
+        clearPostings();
+        removedCount = 0;
+        for (D document : survivors) {
+            append(renumber(document, documents.size()));
+        }
+    }
+
+    static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    // Sorted ordinals of the documents sharing one key
+    static final class Postings {
+        int[] ordinals = new int[4];
+        int size = 0;
+
+        // Ordinals only grow, so appending keeps the list sorted
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        boolean remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index < 0) return false;
+            System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        void addTo(long[] bits) {
+            for (int i = 0; i < size; i++) {
+                int ordinal = ordinals[i];
+                bits[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+    }
+}
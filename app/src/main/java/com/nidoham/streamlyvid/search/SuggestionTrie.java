@@ -0,0 +1,158 @@
+package com.nidoham.streamlyvid.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable prefix trie of weighted completions. Every node whose subtree holds more than
+ * {@link #CACHED_COMPLETIONS} entries keeps its best completions precomputed, so a lookup
+ * walks the prefix and returns that list; smaller subtrees are collected directly. Lookups
+ * are case-insensitive.
+ */
+final class SuggestionTrie {
+
+    static final int CACHED_COMPLETIONS = 10;
+
+    static final SuggestionTrie EMPTY = build(new HashMap<>());
+
+    static final class Suggestion {
+        final String text;
+        final double weight;
+
+        Suggestion(String text, double weight) {
+            this.text = text;
+            this.weight = weight;
+        }
+    }
+
+    private static final Comparator<Suggestion> BY_WEIGHT = (a, b) -> {
+        int result = Double.compare(b.weight, a.weight);
+        return result != 0 ? result : a.text.compareTo(b.text);
+    };
+
+    private static final class Node {
+        char[] labels;
+        Node[] children;
+        Suggestion entry;
+        int count;
+        // Best completions in this subtree; null when count <= CACHED_COMPLETIONS
+        Suggestion[] top;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    private final Node root;
+    private final int size;
+
+    private SuggestionTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Texts that differ only in case become one entry with the summed weight, shown as the
+     * spelling with the highest weight.
+     */
+    static SuggestionTrie build(Map<String, Double> weights) {
+        Map<String, Suggestion> byKey = new HashMap<>();
+        for (Map.Entry<String, Double> entry : weights.entrySet()) {
+            String key = entry.getKey().toLowerCase(Locale.ROOT);
+            Suggestion existing = byKey.get(key);
+            double weight = entry.getValue();
+            if (existing == null) {
+                byKey.put(key, new Suggestion(entry.getKey(), weight));
+            } else {
+                String text = weight > existing.weight ? entry.getKey() : existing.text;
+                byKey.put(key, new Suggestion(text, existing.weight + weight));
+            }
+        }
+
+        String[] keys = byKey.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        Suggestion[] entries = new Suggestion[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            entries[i] = byKey.get(keys[i]);
+        }
+        return new SuggestionTrie(buildNode(keys, entries, 0, keys.length, 0), keys.length);
+    }
+
+    // keys[from, to) are sorted and share their first depth characters
+    private static Node buildNode(String[] keys, Suggestion[] entries, int from, int to, int depth) {
+        Node node = new Node();
+        node.count = to - from;
+        if (from < to && keys[from].length() == depth) {
+            node.entry = entries[from];
+            from++;
+        }
+
+        List<Node> children = new ArrayList<>();
+        StringBuilder labels = new StringBuilder();
+        int start = from;
+        while (start < to) {
+            char label = keys[start].charAt(depth);
+            int end = start + 1;
+            while (end < to && keys[end].charAt(depth) == label) {
+                end++;
+            }
+            labels.append(label);
+            children.add(buildNode(keys, entries, start, end, depth + 1));
+            start = end;
+        }
+        node.labels = labels.toString().toCharArray();
+        node.children = children.toArray(new Node[0]);
+
+        if (node.count > CACHED_COMPLETIONS) {
+            List<Suggestion> candidates = new ArrayList<>();
+            if (node.entry != null) candidates.add(node.entry);
+            for (Node child : node.children) {
+                if (child.top != null) {
+                    candidates.addAll(Arrays.asList(child.top));
+                } else {
+                    collect(child, candidates);
+                }
+            }
+            candidates.sort(BY_WEIGHT);
+            node.top = candidates.subList(0, CACHED_COMPLETIONS).toArray(new Suggestion[0]);
+        }
+        return node;
+    }
+
+    private static void collect(Node node, List<Suggestion> out) {
+        if (node.entry != null) out.add(node.entry);
+        for (Node child : node.children) {
+            collect(child, out);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Up to limit completions of prefix, best first
+    List<Suggestion> complete(String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        List<Suggestion> result = new ArrayList<>();
+        if (node == null || limit <= 0) return result;
+
+        if (node.top != null && limit <= node.top.length) {
+            result.addAll(Arrays.asList(node.top).subList(0, limit));
+            return result;
+        }
+        // Small subtree, or more results requested than are cached
+        collect(node, result);
+        result.sort(BY_WEIGHT);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+}
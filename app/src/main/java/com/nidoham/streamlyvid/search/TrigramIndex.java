@@ -0,0 +1,246 @@
+package com.nidoham.streamlyvid.search;
+
+import com.nidoham.streamlyvid.model.VideoModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram index over title, display name and folder name for substring search
+ * ("mber" finds "November"). A query's trigrams prune the candidates and every candidate
+ * is then verified with a real substring check, so results are exactly those of a
+ * {@code contains()} scan over the same fields.
+ */
+public class TrigramIndex extends SnapshotIndex<TrigramIndex.TextDocument> {
+
+    // Pads each field so one- and two-character fields still produce trigrams
+    private static final char BOUNDARY = '\u0001';
+
+    static final class TextDocument extends SnapshotIndex.Document {
+        final String[] fields;
+        final long[] grams;
+
+        TextDocument(int ordinal, VideoModel video, String[] fields, long[] grams) {
+            super(ordinal, video);
+            this.fields = fields;
+            this.grams = grams;
+        }
+    }
+
+    /** Size and cost of the index after the last update. */
+    public static final class Metrics {
+        public final int documentCount;
+        public final int trigramCount;
+        public final long postingCount;
+        public final long estimatedBytes;
+        public final long lastUpdateMillis;
+
+        Metrics(int documentCount, int trigramCount, long postingCount, long estimatedBytes, long lastUpdateMillis) {
+            this.documentCount = documentCount;
+            this.trigramCount = trigramCount;
+            this.postingCount = postingCount;
+            this.estimatedBytes = estimatedBytes;
+            this.lastUpdateMillis = lastUpdateMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "TrigramIndex{documents=" + documentCount +
+                    ", trigrams=" + trigramCount +
+                    ", postings=" + postingCount +
+                    ", ~" + (estimatedBytes / 1024) + " KB" +
+                    ", lastUpdate=" + lastUpdateMillis + " ms}";
+        }
+    }
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private long lastUpdateMillis = 0;
+
+    @Override
+    public synchronized void update(List<VideoModel> videos) {
+        long start = System.nanoTime();
+        super.update(videos);
+        lastUpdateMillis = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    @Override
+    public synchronized int size() {
+        return super.size();
+    }
+
+    // Videos whose title, display name or folder name contains query, case-insensitively
+    public synchronized List<VideoModel> search(String query) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        if (needle.isEmpty()) {
+            return allVideos();
+        }
+
+        long[] candidates = needle.length() >= 3 ? candidatesForLongQuery(needle) : candidatesForShortQuery(needle);
+        if (candidates == null) {
+            return new ArrayList<>();
+        }
+
+        // Verify: trigrams only prove the pieces are present, not that they are adjacent
+        List<VideoModel> result = new ArrayList<>();
+        for (int w = 0; w < candidates.length; w++) {
+            long word = candidates[w];
+            while (word != 0) {
+                TextDocument document = document((w << 6) + Long.numberOfTrailingZeros(word));
+                for (String field : document.fields) {
+                    if (field.contains(needle)) {
+                        result.add(document.video);
+                        break;
+                    }
+                }
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    // Same test as search() for a single indexed video
+    public synchronized boolean matches(VideoModel video, String query) {
+        TextDocument document = documentFor(video);
+        if (document == null) return false;
+        String needle = query.toLowerCase(Locale.ROOT);
+        for (String field : document.fields) {
+            if (field.contains(needle)) return true;
+        }
+        return false;
+    }
+
+    // Intersects the postings of every trigram of the query, rarest first
+    private long[] candidatesForLongQuery(String needle) {
+        List<Postings> lists = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            long gram = gram(needle.charAt(i), needle.charAt(i + 1), needle.charAt(i + 2));
+            if (!seen.add(gram)) continue;
+            Postings list = postings.get(gram);
+            if (list == null) return null;
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        long[] bits = new long[(ordinalCount() + 63) >>> 6];
+        lists.get(0).addTo(bits);
+        for (int i = 1; i < lists.size(); i++) {
+            long[] next = new long[bits.length];
+            lists.get(i).addTo(next);
+            for (int w = 0; w < bits.length; w++) {
+                bits[w] &= next[w];
+            }
+            if (isEmpty(bits)) return null;
+        }
+        return bits;
+    }
+
+    // One or two characters: union of the postings of every trigram containing them
+    private long[] candidatesForShortQuery(String needle) {
+        long[] bits = new long[(ordinalCount() + 63) >>> 6];
+        for (Map.Entry<Long, Postings> entry : postings.entrySet()) {
+            if (gramContains(entry.getKey(), needle)) {
+                entry.getValue().addTo(bits);
+            }
+        }
+        return isEmpty(bits) ? null : bits;
+    }
+
+    public synchronized Metrics getMetrics() {
+        long postingCount = 0;
+        long bytes = 0;
+        for (Postings list : postings.values()) {
+            postingCount += list.size;
+            // HashMap entry + boxed key + Postings object + int[] backing array
+            bytes += 32 + 16 + 24 + 16 + 4L * list.ordinals.length;
+        }
+        for (int ordinal = 0; ordinal < ordinalCount(); ordinal++) {
+            TextDocument document = document(ordinal);
+            if (document == null) continue;
+            bytes += 32 + 16 + 8L * document.grams.length;
+            for (String field : document.fields) {
+                bytes += 40 + 2L * field.length();
+            }
+        }
+        return new Metrics(size(), postings.size(), postingCount, bytes, lastUpdateMillis);
+    }
+
+    @Override
+    protected TextDocument createDocument(int ordinal, VideoModel video) {
+        String[] fields = fieldsOf(video);
+        Set<Long> grams = new HashSet<>();
+        for (String field : fields) {
+            String padded = BOUNDARY + field + BOUNDARY;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(gram(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)));
+            }
+        }
+        long[] gramArray = new long[grams.size()];
+        int next = 0;
+        for (long gram : grams) {
+            gramArray[next++] = gram;
+        }
+        return new TextDocument(ordinal, video, fields, gramArray);
+    }
+
+    @Override
+    protected TextDocument renumber(TextDocument document, int ordinal) {
+        return new TextDocument(ordinal, document.video, document.fields, document.grams);
+    }
+
+    @Override
+    protected void index(TextDocument document) {
+        for (long gram : document.grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                list = new Postings();
+                postings.put(gram, list);
+            }
+            list.add(document.ordinal);
+        }
+    }
+
+    @Override
+    protected void unindex(TextDocument document) {
+        for (long gram : document.grams) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(document.ordinal) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    @Override
+    protected void clearPostings() {
+        postings.clear();
+    }
+
+    private static String[] fieldsOf(VideoModel video) {
+        List<String> fields = new ArrayList<>(3);
+        if (video.getTitle() != null) fields.add(video.getTitle().toLowerCase(Locale.ROOT));
+        if (video.getDisplayName() != null) fields.add(video.getDisplayName().toLowerCase(Locale.ROOT));
+        if (video.getBucketDisplayName() != null) fields.add(video.getBucketDisplayName().toLowerCase(Locale.ROOT));
+        return fields.toArray(new String[0]);
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static boolean gramContains(long gram, String needle) {
+        char a = (char) (gram >>> 32);
+        char b = (char) (gram >>> 16);
+        char c = (char) gram;
+        if (needle.length() == 1) {
+            char n = needle.charAt(0);
+            return a == n || b == n || c == n;
+        }
+        char n0 = needle.charAt(0);
+        char n1 = needle.charAt(1);
+        return (a == n0 && b == n1) || (b == n0 && c == n1);
+    }
+}
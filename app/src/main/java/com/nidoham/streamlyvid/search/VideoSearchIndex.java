@@ -0,0 +1,244 @@
+package com.nidoham.streamlyvid.search;
+
+import com.nidoham.streamlyvid.model.VideoModel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over the searchable fields of the library (title, display name, folder,
+ * extension, resolution). Each video is tokenized once when it enters the index; a query
+ * matches the videos in which every query token is a prefix of some indexed token.
+ * {@link #update} applies only the difference against the previous snapshot.
+ */
+public class VideoSearchIndex extends SnapshotIndex<VideoSearchIndex.TokenDocument> {
+
+    static final class TokenDocument extends SnapshotIndex.Document {
+        final String[] terms;
+
+        TokenDocument(int ordinal, VideoModel video, String[] terms) {
+            super(ordinal, video);
+            this.terms = terms;
+        }
+    }
+
+    // Sorted so a query token maps to the contiguous range of terms it prefixes
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+
+    // Vocabulary for fuzzy lookups; built on first use, then kept in step by update()
+    private BkTree vocabulary;
+
+    /**
+     * Brings the index in line with {@code videos}: new and changed videos are
+     * (re)tokenized, missing ones are dropped, unchanged ones are left alone. A fuzzy
+     * vocabulary in use is rebuilt here when needed, never on a search.
+     */
+    @Override
+    public synchronized void update(List<VideoModel> videos) {
+        boolean fuzzyInUse = vocabulary != null;
+        super.update(videos);
+        // Tombstones slow every lookup; once they outnumber the live terms, start over
+        if (fuzzyInUse && (vocabulary == null || vocabulary.removedCount() > vocabulary.size())) {
+            vocabulary = null;
+            prepareFuzzy();
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return super.size();
+    }
+
+    /**
+     * Videos matching every token of {@code query}, in index order. A query without any
+     * token (only punctuation or spaces) matches nothing here; showing the whole library
+     * is the caller's decision for a blank query.
+     */
+    public synchronized List<VideoModel> search(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        long[] matches = null;
+        for (String token : tokens) {
+            long[] tokenMatches = matchPrefix(token);
+            if (matches == null) {
+                matches = tokenMatches;
+            } else {
+                for (int i = 0; i < matches.length; i++) {
+                    matches[i] &= tokenMatches[i];
+                }
+            }
+            if (isEmpty(matches)) {
+                return new ArrayList<>();
+            }
+        }
+        return collect(matches);
+    }
+
+    /**
+     * Like {@link #search}, but each query token also matches indexed terms within a small
+     * edit distance of it: none for tokens of one or two characters, one up to five
+     * characters and {@code maxDistance} (at most 2) beyond that.
+     */
+    public synchronized List<VideoModel> searchFuzzy(String query, int maxDistance) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        prepareFuzzy();
+
+        long[] matches = null;
+        List<String> nearTerms = new ArrayList<>();
+        for (String token : tokens) {
+            long[] tokenMatches = matchPrefix(token);
+            int distance = Math.min(Math.min(maxDistance, 2), token.length() <= 2 ? 0 : token.length() <= 5 ? 1 : 2);
+            if (distance > 0) {
+                nearTerms.clear();
+                vocabulary.search(token, distance, nearTerms);
+                for (String term : nearTerms) {
+                    postings.get(term).addTo(tokenMatches);
+                }
+            }
+            if (matches == null) {
+                matches = tokenMatches;
+            } else {
+                for (int i = 0; i < matches.length; i++) {
+                    matches[i] &= tokenMatches[i];
+                }
+            }
+            if (isEmpty(matches)) {
+                return new ArrayList<>();
+            }
+        }
+        return collect(matches);
+    }
+
+    // Builds the fuzzy vocabulary now rather than on the next fuzzy keystroke
+    public synchronized void prepareFuzzy() {
+        if (vocabulary == null) {
+            vocabulary = new BkTree();
+            for (String term : postings.keySet()) {
+                vocabulary.add(term);
+            }
+        }
+    }
+
+    // Same test as search() for a single indexed video, without touching the postings
+    public synchronized boolean matches(VideoModel video, String query) {
+        TokenDocument document = documentFor(video);
+        List<String> tokens = tokenize(query);
+        if (document == null || tokens.isEmpty()) return false;
+        for (String token : tokens) {
+            boolean found = false;
+            for (String term : document.terms) {
+                if (term.startsWith(token)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    // Bitset over ordinals of the documents containing a term that starts with prefix
+    private long[] matchPrefix(String prefix) {
+        long[] bits = new long[(ordinalCount() + 63) >>> 6];
+        NavigableMap<String, Postings> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        for (Postings list : range.values()) {
+            list.addTo(bits);
+        }
+        return bits;
+    }
+
+    @Override
+    protected TokenDocument createDocument(int ordinal, VideoModel video) {
+        return new TokenDocument(ordinal, video, termsOf(video));
+    }
+
+    @Override
+    protected TokenDocument renumber(TokenDocument document, int ordinal) {
+        return new TokenDocument(ordinal, document.video, document.terms);
+    }
+
+    @Override
+    protected void index(TokenDocument document) {
+        for (String term : document.terms) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                list = new Postings();
+                postings.put(term, list);
+                if (vocabulary != null) vocabulary.add(term);
+            }
+            list.add(document.ordinal);
+        }
+    }
+
+    @Override
+    protected void unindex(TokenDocument document) {
+        for (String term : document.terms) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(document.ordinal) && list.size == 0) {
+                postings.remove(term);
+                if (vocabulary != null) vocabulary.remove(term);
+            }
+        }
+    }
+
+    @Override
+    protected void clearPostings() {
+        postings.clear();
+        vocabulary = null;
+    }
+
+    private static String[] termsOf(VideoModel video) {
+        Set<String> terms = new LinkedHashSet<>();
+        addTokens(video.getTitle(), terms);
+        addTokens(video.getDisplayName(), terms);
+        addTokens(video.getBucketDisplayName(), terms);
+        addTokens(video.getFileExtension(), terms);
+        addTokens(video.getResolution(), terms);
+        return terms.toArray(new String[0]);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        addTokens(text, tokens);
+        return tokens;
+    }
+
+    /**
+     * Lower-cases {@code text} and splits it into runs of letters and runs of digits, so
+     * "Episode10.mp4" and "1920x1080" break into searchable parts.
+     */
+    static void addTokens(String text, Collection<String> out) {
+        if (text == null) return;
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int start = -1;
+        int kind = 0; // 1 = letters, 2 = digits
+        for (int i = 0; i <= length; i++) {
+            int charKind = 0;
+            if (i < length) {
+                char c = lower.charAt(i);
+                if (Character.isDigit(c)) charKind = 2;
+                else if (Character.isLetter(c) || Character.getType(c) == Character.NON_SPACING_MARK
+                        || Character.getType(c) == Character.COMBINING_SPACING_MARK) charKind = 1;
+            }
+            if (charKind != kind) {
+                if (kind != 0) {
+                    out.add(lower.substring(start, i));
+                }
+                start = i;
+                kind = charKind;
+            }
+        }
+    }
+}
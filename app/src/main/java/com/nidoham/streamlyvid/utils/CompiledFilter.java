@@ -0,0 +1,324 @@
+package com.nidoham.streamlyvid.utils;
+
+import com.nidoham.streamlyvid.model.VideoModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Filter criteria compiled into a chain of checks for the active dimensions only,
+ * ordered cheapest-first: primitive range checks, then folder lookups, then file
+ * extension lookups. Instances are immutable and safe to share across threads.
+ * Shared by {@link FilterUtils.FilterCriteria} and {@code search.SearchFilter}.
+ */
+public final class CompiledFilter {
+
+    public static final CompiledFilter MATCH_ALL = new CompiledFilter(new Check[0]);
+
+    // One filter dimension, testable against a model or against a row of a VideoColumns
+    private abstract static class Check {
+        abstract boolean test(VideoModel video);
+
+        // Resolves per-snapshot lookups (dictionary ordinals) once before a column scan
+        abstract RowCheck bind(VideoColumns columns);
+
+        // Rows passing this check as a bitset, or null if the index cannot answer it
+        long[] bitmap(VideoBitmapIndex index) {
+            return null;
+        }
+    }
+
+    private interface RowCheck {
+        boolean test(int row);
+    }
+
+    private final Check[] checks;
+
+    private CompiledFilter(Check[] checks) {
+        this.checks = checks;
+    }
+
+    public boolean matches(VideoModel video) {
+        for (Check check : checks) {
+            if (!check.test(video)) return false;
+        }
+        return true;
+    }
+
+    public boolean isMatchAll() {
+        return checks.length == 0;
+    }
+
+    public List<VideoModel> filter(List<VideoModel> videos) {
+        List<VideoModel> result = new ArrayList<>();
+        for (VideoModel video : videos) {
+            if (matches(video)) {
+                result.add(video);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Column scan: returns the rows of {@code columns} that pass, in the order they appear
+     * in {@code order} (or in row order if {@code order} is null).
+     */
+    public int[] select(VideoColumns columns, int[] order) {
+        RowCheck[] rowChecks = new RowCheck[checks.length];
+        for (int i = 0; i < checks.length; i++) {
+            rowChecks[i] = checks[i].bind(columns);
+        }
+        return scan(order, columns.size, null, rowChecks);
+    }
+
+    /**
+     * Like {@link #select(VideoColumns, int[])}, but categorical checks the bitmap index
+     * can answer are combined with bitwise ANDs first; only the rest run per row.
+     */
+    public int[] select(VideoBitmapIndex index, int[] order) {
+        long[] bits = null;
+        List<RowCheck> rowChecks = new ArrayList<>();
+        for (Check check : checks) {
+            long[] checkBits = check.bitmap(index);
+            if (checkBits == null) {
+                rowChecks.add(check.bind(index.getColumns()));
+            } else {
+                bits = bits == null ? checkBits : VideoBitmapIndex.and(bits, checkBits);
+            }
+        }
+
+        RowCheck[] remaining = rowChecks.toArray(new RowCheck[0]);
+        if (order == null && bits != null) {
+            // Walk only the set bits instead of every row
+            return scan(VideoBitmapIndex.toRows(bits), 0, null, remaining);
+        }
+        return scan(order, index.getColumns().size, bits, remaining);
+    }
+
+    // Rows of order (or 0..size-1) that are in bits (if given) and pass every row check
+    private static int[] scan(int[] order, int size, long[] bits, RowCheck[] rowChecks) {
+        int n = order != null ? order.length : size;
+        if (bits == null && rowChecks.length == 0) {
+            if (order != null) return order.clone();
+            int[] rows = new int[n];
+            for (int i = 0; i < n; i++) rows[i] = i;
+            return rows;
+        }
+
+        int[] selected = new int[n];
+        int count = 0;
+        scan:
+        for (int i = 0; i < n; i++) {
+            int row = order != null ? order[i] : i;
+            if (bits != null && !VideoBitmapIndex.contains(bits, row)) continue;
+            for (RowCheck check : rowChecks) {
+                if (!check.test(row)) continue scan;
+            }
+            selected[count++] = row;
+        }
+        return count == n ? selected : Arrays.copyOf(selected, count);
+    }
+
+    // Formats are stored as lower-case ".ext" so "MP4", "mp4" and ".mp4" are the same format
+    public static String normalizeFormat(String format) {
+        String lower = format.toLowerCase(Locale.ROOT);
+        return lower.startsWith(".") ? lower : "." + lower;
+    }
+
+    public static class Builder {
+        private final List<Check> rangeChecks = new ArrayList<>();
+        private final List<Check> folderChecks = new ArrayList<>();
+        private final List<Check> formatChecks = new ArrayList<>();
+
+        public Builder sizeRange(long min, long max) {
+            rangeChecks.add(new Check() {
+                @Override boolean test(VideoModel video) {
+                    return video.getSize() >= min && video.getSize() <= max;
+                }
+
+                @Override RowCheck bind(VideoColumns columns) {
+                    long[] sizes = columns.sizes;
+                    return row -> sizes[row] >= min && sizes[row] <= max;
+                }
+            });
+            return this;
+        }
+
+        public Builder durationRange(long minMs, long maxMs) {
+            rangeChecks.add(new Check() {
+                @Override boolean test(VideoModel video) {
+                    return video.getDuration() >= minMs && video.getDuration() <= maxMs;
+                }
+
+                @Override RowCheck bind(VideoColumns columns) {
+                    long[] durations = columns.durations;
+                    return row -> durations[row] >= minMs && durations[row] <= maxMs;
+                }
+            });
+            return this;
+        }
+
+        // Bounds in milliseconds; MediaStore stores DATE_ADDED in seconds
+        public Builder dateAddedRange(long minMs, long maxMs) {
+            rangeChecks.add(new Check() {
+                @Override boolean test(VideoModel video) {
+                    long dateAdded = video.getDateAdded() * 1000;
+                    return dateAdded >= minMs && dateAdded <= maxMs;
+                }
+
+                @Override RowCheck bind(VideoColumns columns) {
+                    long[] dates = columns.dateAdded;
+                    return row -> dates[row] * 1000 >= minMs && dates[row] * 1000 <= maxMs;
+                }
+            });
+            return this;
+        }
+
+        public Builder resolutionRange(int minWidth, int maxWidth, int minHeight, int maxHeight) {
+            rangeChecks.add(new Check() {
+                @Override boolean test(VideoModel video) {
+                    return inRange(video.getWidth(), video.getHeight());
+                }
+
+                @Override RowCheck bind(VideoColumns columns) {
+                    int[] widths = columns.widths;
+                    int[] heights = columns.heights;
+                    return row -> inRange(widths[row], heights[row]);
+                }
+
+                @Override long[] bitmap(VideoBitmapIndex index) {
+                    if (maxWidth != Integer.MAX_VALUE || maxHeight != Integer.MAX_VALUE) return null;
+                    VideoBitmapIndex.ResolutionClass resolutionClass =
+                            VideoBitmapIndex.ResolutionClass.forMinimum(minWidth, minHeight);
+                    return resolutionClass != null ? index.atLeast(resolutionClass) : null;
+                }
+
+                private boolean inRange(int width, int height) {
+                    return width >= minWidth && width <= maxWidth && height >= minHeight && height <= maxHeight;
+                }
+            });
+            return this;
+        }
+
+        public Builder folders(Collection<String> included, Collection<String> excluded) {
+            if (included.isEmpty() && excluded.isEmpty()) return this;
+            Set<String> includedSet = new HashSet<>(included);
+            Set<String> excludedSet = new HashSet<>(excluded);
+            folderChecks.add(new Check() {
+                @Override boolean test(VideoModel video) {
+                    return passes(video.getBucketDisplayName());
+                }
+
+                @Override RowCheck bind(VideoColumns columns) {
+                    boolean[] passing = new boolean[columns.folderNames.length];
+                    for (int i = 0; i < passing.length; i++) {
+                        passing[i] = passes(columns.folderNames[i]);
+                    }
+                    boolean noFolderPasses = passes(null);
+                    int[] ordinals = columns.folderOrdinals;
+                    return row -> ordinals[row] < 0 ? noFolderPasses : passing[ordinals[row]];
+                }
+
+                @Override long[] bitmap(VideoBitmapIndex index) {
+                    if (includedSet.contains(null) || excludedSet.contains(null)) return null;
+                    long[] bits = includedSet.isEmpty() ? index.all() : null;
+                    for (String folderName : includedSet) {
+                        long[] folderBits = index.forFolder(folderName);
+                        bits = bits == null ? folderBits : VideoBitmapIndex.or(bits, folderBits);
+                    }
+                    for (String folderName : excludedSet) {
+                        bits = VideoBitmapIndex.andNot(bits, index.forFolder(folderName));
+                    }
+                    return bits;
+                }
+
+                private boolean passes(String folderName) {
+                    if (excludedSet.contains(folderName)) return false;
+                    return includedSet.isEmpty() || includedSet.contains(folderName);
+                }
+            });
+            return this;
+        }
+
+        // Formats must already be normalized with normalizeFormat
+        public Builder formats(Collection<String> allowed, Collection<String> excluded) {
+            if (allowed.isEmpty() && excluded.isEmpty()) return this;
+            String[] allowedFormats = allowed.toArray(new String[0]);
+            String[] excludedFormats = excluded.toArray(new String[0]);
+            formatChecks.add(new Check() {
+                @Override boolean test(VideoModel video) {
+                    String name = video.getDisplayName();
+                    if (excludedFormats.length > 0 && hasExtension(name, excludedFormats)) return false;
+                    return allowedFormats.length == 0 || hasExtension(name, allowedFormats);
+                }
+
+                @Override RowCheck bind(VideoColumns columns) {
+                    boolean[] passing = new boolean[columns.extensions.length];
+                    for (int i = 0; i < passing.length; i++) {
+                        String extension = columns.extensions[i];
+                        passing[i] = !contains(excludedFormats, extension) &&
+                                (allowedFormats.length == 0 || contains(allowedFormats, extension));
+                    }
+                    // A name without an extension only passes when no formats are required
+                    boolean noExtensionPasses = allowedFormats.length == 0;
+                    int[] ordinals = columns.extensionOrdinals;
+                    return row -> ordinals[row] < 0 ? noExtensionPasses : passing[ordinals[row]];
+                }
+
+                @Override long[] bitmap(VideoBitmapIndex index) {
+                    long[] bits = allowedFormats.length == 0 ? index.all() : null;
+                    for (String format : allowedFormats) {
+                        long[] formatBits = index.forExtension(format);
+                        bits = bits == null ? formatBits : VideoBitmapIndex.or(bits, formatBits);
+                    }
+                    for (String format : excludedFormats) {
+                        bits = VideoBitmapIndex.andNot(bits, index.forExtension(format));
+                    }
+                    return bits;
+                }
+            });
+            return this;
+        }
+
+        public CompiledFilter build() {
+            int count = rangeChecks.size() + folderChecks.size() + formatChecks.size();
+            if (count == 0) return MATCH_ALL;
+
+            List<Check> ordered = new ArrayList<>(count);
+            ordered.addAll(rangeChecks);
+            ordered.addAll(folderChecks);
+            ordered.addAll(formatChecks);
+            return new CompiledFilter(ordered.toArray(new Check[0]));
+        }
+    }
+
+    private static boolean contains(String[] values, String value) {
+        for (String candidate : values) {
+            if (candidate.equals(value)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Same result as looking up {@link VideoModel#getFileExtension()} in the set, without
+     * allocating the lower-cased extension for every video. Format sets are tiny, so a
+     * linear scan beats hashing a fresh substring.
+     */
+    private static boolean hasExtension(String displayName, String[] formats) {
+        if (displayName == null) return false;
+        int dot = displayName.lastIndexOf('.');
+        if (dot < 0) return false;
+        int extensionLength = displayName.length() - dot;
+        for (String format : formats) {
+            if (format.length() == extensionLength &&
+                    displayName.regionMatches(true, dot, format, 0, extensionLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
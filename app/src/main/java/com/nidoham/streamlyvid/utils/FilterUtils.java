@@ -1,7 +1,7 @@
 package com.nidoham.streamlyvid.utils;
 
 import com.nidoham.streamlyvid.model.VideoModel;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -26,71 +26,84 @@ public class FilterUtils {
         private boolean filterByFormat = false;
         private boolean filterByResolution = false;
         private boolean filterByFolder = false;
+        // Rebuilt on the next compile() after any setter runs. Setters and compile() share the
+        // lock, so a compile on a worker thread never caches a filter built from replaced values
+        private volatile CompiledFilter compiled;
 
         // Size filters
-        public FilterCriteria setMinSize(long minSizeMB) {
+        public synchronized FilterCriteria setMinSize(long minSizeMB) {
             this.minSize = minSizeMB * 1024 * 1024;
             this.filterBySize = true;
+            this.compiled = null;
             return this;
         }
 
-        public FilterCriteria setMaxSize(long maxSizeMB) {
+        public synchronized FilterCriteria setMaxSize(long maxSizeMB) {
             this.maxSize = maxSizeMB * 1024 * 1024;
             this.filterBySize = true;
+            this.compiled = null;
             return this;
         }
 
         // Duration filters
-        public FilterCriteria setMinDuration(long minDurationSeconds) {
+        public synchronized FilterCriteria setMinDuration(long minDurationSeconds) {
             this.minDuration = minDurationSeconds * 1000;
             this.filterByDuration = true;
+            this.compiled = null;
             return this;
         }
 
-        public FilterCriteria setMaxDuration(long maxDurationSeconds) {
+        public synchronized FilterCriteria setMaxDuration(long maxDurationSeconds) {
             this.maxDuration = maxDurationSeconds * 1000;
             this.filterByDuration = true;
+            this.compiled = null;
             return this;
         }
 
         // Format filters
-        public FilterCriteria addAllowedFormat(String format) {
-            this.allowedFormats.add(format.toLowerCase());
+        public synchronized FilterCriteria addAllowedFormat(String format) {
+            this.allowedFormats.add(CompiledFilter.normalizeFormat(format));
             this.filterByFormat = true;
+            this.compiled = null;
             return this;
         }
 
-        public FilterCriteria addExcludedFormat(String format) {
-            this.excludedFormats.add(format.toLowerCase());
+        public synchronized FilterCriteria addExcludedFormat(String format) {
+            this.excludedFormats.add(CompiledFilter.normalizeFormat(format));
             this.filterByFormat = true;
+            this.compiled = null;
             return this;
         }
 
         // Resolution filters
-        public FilterCriteria setMinResolution(int minWidth, int minHeight) {
+        public synchronized FilterCriteria setMinResolution(int minWidth, int minHeight) {
             this.minWidth = minWidth;
             this.minHeight = minHeight;
             this.filterByResolution = true;
+            this.compiled = null;
             return this;
         }
 
-        public FilterCriteria setMaxResolution(int maxWidth, int maxHeight) {
+        public synchronized FilterCriteria setMaxResolution(int maxWidth, int maxHeight) {
             this.maxWidth = maxWidth;
             this.maxHeight = maxHeight;
             this.filterByResolution = true;
+            this.compiled = null;
             return this;
         }
 
         // Folder filters
-        public FilterCriteria addIncludedFolder(String folderName) {
+        public synchronized FilterCriteria addIncludedFolder(String folderName) {
             this.includedFolders.add(folderName);
             this.filterByFolder = true;
+            this.compiled = null;
             return this;
         }
 
-        public FilterCriteria addExcludedFolder(String folderName) {
+        public synchronized FilterCriteria addExcludedFolder(String folderName) {
             this.excludedFolders.add(folderName);
             this.filterByFolder = true;
+            this.compiled = null;
             return this;
         }
 
@@ -99,19 +112,34 @@ public class FilterUtils {
         public long getMaxSize() { return maxSize; }
         public long getMinDuration() { return minDuration; }
         public long getMaxDuration() { return maxDuration; }
-        public Set<String> getAllowedFormats() { return allowedFormats; }
-        public Set<String> getExcludedFormats() { return excludedFormats; }
+        public Set<String> getAllowedFormats() { return Collections.unmodifiableSet(allowedFormats); }
+        public Set<String> getExcludedFormats() { return Collections.unmodifiableSet(excludedFormats); }
         public int getMinWidth() { return minWidth; }
         public int getMaxWidth() { return maxWidth; }
         public int getMinHeight() { return minHeight; }
         public int getMaxHeight() { return maxHeight; }
-        public Set<String> getIncludedFolders() { return includedFolders; }
-        public Set<String> getExcludedFolders() { return excludedFolders; }
+        public Set<String> getIncludedFolders() { return Collections.unmodifiableSet(includedFolders); }
+        public Set<String> getExcludedFolders() { return Collections.unmodifiableSet(excludedFolders); }
         public boolean isFilterBySize() { return filterBySize; }
         public boolean isFilterByDuration() { return filterByDuration; }
         public boolean isFilterByFormat() { return filterByFormat; }
         public boolean isFilterByResolution() { return filterByResolution; }
         public boolean isFilterByFolder() { return filterByFolder; }
+
+        public synchronized CompiledFilter compile() {
+            CompiledFilter filter = compiled;
+            if (filter == null) {
+                CompiledFilter.Builder builder = new CompiledFilter.Builder();
+                if (filterBySize) builder.sizeRange(minSize, maxSize);
+                if (filterByDuration) builder.durationRange(minDuration, maxDuration);
+                if (filterByResolution) builder.resolutionRange(minWidth, maxWidth, minHeight, maxHeight);
+                if (filterByFolder) builder.folders(includedFolders, excludedFolders);
+                if (filterByFormat) builder.formats(allowedFormats, excludedFormats);
+                filter = builder.build();
+                compiled = filter;
+            }
+            return filter;
+        }
     }
 
     public static List<VideoModel> filterVideos(List<VideoModel> videos, FilterCriteria criteria) {
@@ -119,71 +147,17 @@ public class FilterUtils {
             return videos;
         }
 
-        List<VideoModel> filteredVideos = new ArrayList<>();
-
-        for (VideoModel video : videos) {
-            if (passesFilter(video, criteria)) {
-                filteredVideos.add(video);
-            }
-        }
-
-        return filteredVideos;
+        return criteria.compile().filter(videos);
     }
 
-    private static boolean passesFilter(VideoModel video, FilterCriteria criteria) {
-        // Size filter
-        if (criteria.isFilterBySize()) {
-            if (video.getSize() < criteria.getMinSize() || video.getSize() > criteria.getMaxSize()) {
-                return false;
-            }
-        }
-
-        // Duration filter
-        if (criteria.isFilterByDuration()) {
-            if (video.getDuration() < criteria.getMinDuration() || video.getDuration() > criteria.getMaxDuration()) {
-                return false;
-            }
-        }
-
-        // Format filter
-        if (criteria.isFilterByFormat()) {
-            String extension = video.getFileExtension();
-            
-            // Check excluded formats first
-            if (!criteria.getExcludedFormats().isEmpty() && criteria.getExcludedFormats().contains(extension)) {
-                return false;
-            }
-            
-            // Check allowed formats
-            if (!criteria.getAllowedFormats().isEmpty() && !criteria.getAllowedFormats().contains(extension)) {
-                return false;
-            }
-        }
-
-        // Resolution filter
-        if (criteria.isFilterByResolution()) {
-            if (video.getWidth() < criteria.getMinWidth() || video.getWidth() > criteria.getMaxWidth() ||
-                video.getHeight() < criteria.getMinHeight() || video.getHeight() > criteria.getMaxHeight()) {
-                return false;
-            }
-        }
-
-        // Folder filter
-        if (criteria.isFilterByFolder()) {
-            String folderName = video.getBucketDisplayName();
-            
-            // Check excluded folders first
-            if (!criteria.getExcludedFolders().isEmpty() && criteria.getExcludedFolders().contains(folderName)) {
-                return false;
-            }
-            
-            // Check included folders
-            if (!criteria.getIncludedFolders().isEmpty() && !criteria.getIncludedFolders().contains(folderName)) {
-                return false;
-            }
-        }
+    // Column scan over a snapshot; returns the passing rows of {@code order} (all rows if null)
+    public static int[] filterIndices(VideoColumns columns, int[] order, FilterCriteria criteria) {
+        return criteria.compile().select(columns, order);
+    }
 
-        return true;
+    // Prefer compiling the criteria once when testing many videos
+    public static boolean passesFilter(VideoModel video, FilterCriteria criteria) {
+        return criteria.compile().matches(video);
     }
 
     // Predefined filter presets
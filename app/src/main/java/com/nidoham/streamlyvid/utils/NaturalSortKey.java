@@ -0,0 +1,93 @@
+package com.nidoham.streamlyvid.utils;
+
+import java.text.CollationKey;
+import java.text.Collator;
+
+/**
+ * Pre-tokenized title for numeric-aware ordering ("Episode 2" before "Episode 10").
+ * The title is split once into alternating text and digit runs; text runs are collated
+ * like plain title sort and digit runs compare by numeric value.
+ */
+public class NaturalSortKey implements Comparable<NaturalSortKey> {
+    // Per token: collation key for text runs, null for digit runs
+    private final CollationKey[] textKeys;
+    // Per token: digits without leading zeros for digit runs, null for text runs
+    private final String[] numbers;
+    // Per token: original digit run length, so "007" sorts after "7"
+    private final int[] digitLengths;
+
+    private NaturalSortKey(CollationKey[] textKeys, String[] numbers, int[] digitLengths) {
+        this.textKeys = textKeys;
+        this.numbers = numbers;
+        this.digitLengths = digitLengths;
+    }
+
+    // The collator is not thread-safe; callers pass one they own
+    public static NaturalSortKey create(String title, Collator collator) {
+        if (title == null) title = "";
+        int tokenCount = countTokens(title);
+        CollationKey[] textKeys = new CollationKey[tokenCount];
+        String[] numbers = new String[tokenCount];
+        int[] digitLengths = new int[tokenCount];
+
+        int length = title.length();
+        int start = 0;
+        for (int token = 0; token < tokenCount; token++) {
+            boolean digits = Character.isDigit(title.charAt(start));
+            int end = start + 1;
+            while (end < length && Character.isDigit(title.charAt(end)) == digits) {
+                end++;
+            }
+
+            if (digits) {
+                int firstSignificant = start;
+                while (firstSignificant < end - 1 && Character.digit(title.charAt(firstSignificant), 10) == 0) {
+                    firstSignificant++;
+                }
+                StringBuilder value = new StringBuilder(end - firstSignificant);
+                for (int i = firstSignificant; i < end; i++) {
+                    // Normalizes non-ASCII digits (e.g. Bengali) to their numeric value
+                    value.append((char) ('0' + Character.digit(title.charAt(i), 10)));
+                }
+                numbers[token] = value.toString();
+                digitLengths[token] = end - start;
+            } else {
+                textKeys[token] = collator.getCollationKey(title.substring(start, end));
+            }
+            start = end;
+        }
+        return new NaturalSortKey(textKeys, numbers, digitLengths);
+    }
+
+    private static int countTokens(String title) {
+        int count = 0;
+        for (int i = 0; i < title.length(); i++) {
+            if (i == 0 || Character.isDigit(title.charAt(i)) != Character.isDigit(title.charAt(i - 1))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int compareTo(NaturalSortKey other) {
+        int shared = Math.min(numbers.length, other.numbers.length);
+        for (int i = 0; i < shared; i++) {
+            boolean number = numbers[i] != null;
+            boolean otherNumber = other.numbers[i] != null;
+            int result;
+            if (number && otherNumber) {
+                result = Integer.compare(numbers[i].length(), other.numbers[i].length());
+                if (result == 0) result = numbers[i].compareTo(other.numbers[i]);
+                if (result == 0) result = Integer.compare(digitLengths[i], other.digitLengths[i]);
+            } else if (number || otherNumber) {
+                // Digits sort before letters, as in plain title order
+                result = number ? -1 : 1;
+            } else {
+                result = textKeys[i].compareTo(other.textKeys[i]);
+            }
+            if (result != 0) return result;
+        }
+        return Integer.compare(numbers.length, other.numbers.length);
+    }
+}
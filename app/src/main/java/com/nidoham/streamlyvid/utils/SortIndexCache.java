@@ -0,0 +1,239 @@
+package com.nidoham.streamlyvid.utils;
+
+import com.nidoham.streamlyvid.model.VideoModel;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Caches one index permutation per {@link SortUtils.SortType} for a library snapshot.
+ * A permutation is computed on first use and reused until a different snapshot list is
+ * passed in, so switching between sort orders only walks an int[]. Descending orders
+ * are derived from their ascending counterpart by reversal.
+ */
+public class SortIndexCache {
+
+    // Compares two positions of the snapshot
+    interface IndexComparator {
+        int compare(int a, int b);
+    }
+
+    private List<VideoModel> snapshot;
+    private Locale snapshotLocale;
+    private final Map<SortUtils.SortType, int[]> permutations = new EnumMap<>(SortUtils.SortType.class);
+
+    // Sort keys extracted once per snapshot; title keys only once a title order is requested
+    private VideoColumns columns;
+    private CollationKey[] titleKeys;
+    private NaturalSortKey[] naturalKeys;
+
+    /**
+     * Returns the videos of {@code videos} that pass {@code criteria} (all of them if null),
+     * in {@code sortType} order. {@code videos} is treated as an immutable snapshot: the
+     * cache is keyed on its identity.
+     */
+    public synchronized List<VideoModel> sortAndFilter(List<VideoModel> videos, SortUtils.SortType sortType,
+                                                       FilterUtils.FilterCriteria criteria) {
+        int[] order = getPermutation(videos, sortType);
+        if (criteria != null) {
+            order = FilterUtils.filterIndices(columns, order, criteria);
+        }
+
+        List<VideoModel> result = new ArrayList<>(order.length);
+        for (int index : order) {
+            result.add(videos.get(index));
+        }
+        return result;
+    }
+
+    public synchronized int[] getPermutation(List<VideoModel> videos, SortUtils.SortType sortType) {
+        ensureSnapshot(videos);
+
+        int[] permutation = permutations.get(sortType);
+        if (permutation == null) {
+            SortUtils.SortType ascending = ascendingOf(sortType);
+            if (ascending != null) {
+                int[] base = permutations.get(ascending);
+                if (base == null) {
+                    base = computePermutation(ascending);
+                    permutations.put(ascending, base);
+                }
+                permutation = reverseStable(base, comparatorFor(ascending));
+            } else {
+                permutation = computePermutation(sortType);
+            }
+            permutations.put(sortType, permutation);
+        }
+        return permutation;
+    }
+
+    // Columnar view of the current snapshot, for callers scanning it by row index
+    public synchronized VideoColumns getColumns(List<VideoModel> videos) {
+        ensureSnapshot(videos);
+        return columns;
+    }
+
+    public synchronized void invalidate() {
+        snapshot = null;
+        snapshotLocale = null;
+        columns = null;
+        permutations.clear();
+    }
+
+    private void ensureSnapshot(List<VideoModel> videos) {
+        // Title keys depend on the locale, so a language change invalidates them too
+        if (videos != snapshot || !Locale.getDefault().equals(snapshotLocale)) {
+            setSnapshot(videos);
+        }
+    }
+
+    private void setSnapshot(List<VideoModel> videos) {
+        snapshot = videos;
+        snapshotLocale = Locale.getDefault();
+        permutations.clear();
+
+        columns = VideoColumns.of(videos);
+        titleKeys = null;
+        naturalKeys = null;
+    }
+
+    private int[] computePermutation(SortUtils.SortType sortType) {
+        int[] indices = new int[columns.size];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        IndexComparator comparator = comparatorFor(sortType);
+        if (comparator != null) {
+            mergeSort(indices, comparator);
+        }
+        return indices;
+    }
+
+    // The order every descending sort type is the reverse of; null for types without a pair
+    private static SortUtils.SortType ascendingOf(SortUtils.SortType sortType) {
+        switch (sortType) {
+            case TITLE_DESC: return SortUtils.SortType.TITLE_ASC;
+            case TITLE_NATURAL_DESC: return SortUtils.SortType.TITLE_NATURAL_ASC;
+            case DATE_NEW_TO_OLD: return SortUtils.SortType.DATE_OLD_TO_NEW;
+            case SIZE_LARGE_TO_SMALL: return SortUtils.SortType.SIZE_SMALL_TO_LARGE;
+            case RESOLUTION_HIGH_TO_LOW: return SortUtils.SortType.RESOLUTION_LOW_TO_HIGH;
+            case DURATION_LONG_TO_SHORT: return SortUtils.SortType.DURATION_SHORT_TO_LONG;
+            default: return null;
+        }
+    }
+
+    private IndexComparator comparatorFor(SortUtils.SortType sortType) {
+        switch (sortType) {
+            case TITLE_ASC: {
+                final CollationKey[] keys = getTitleKeys();
+                return (a, b) -> keys[a].compareTo(keys[b]);
+            }
+            case TITLE_NATURAL_ASC: {
+                final NaturalSortKey[] keys = getNaturalKeys();
+                return (a, b) -> keys[a].compareTo(keys[b]);
+            }
+            case DATE_OLD_TO_NEW: return keyComparator(columns.dateAdded);
+            case SIZE_SMALL_TO_LARGE: return keyComparator(columns.sizes);
+            case RESOLUTION_LOW_TO_HIGH: return keyComparator(columns.pixels);
+            case DURATION_SHORT_TO_LONG: return keyComparator(columns.durations);
+            case RECENTLY_PLAYED: {
+                final long[] keys = columns.lastPlayed;
+                return (a, b) -> Long.compare(keys[b], keys[a]);
+            }
+            default: return null;
+        }
+    }
+
+    private CollationKey[] getTitleKeys() {
+        if (titleKeys == null) {
+            Collator collator = SortUtils.newTitleCollator();
+            titleKeys = new CollationKey[snapshot.size()];
+            for (int i = 0; i < titleKeys.length; i++) {
+                titleKeys[i] = collator.getCollationKey(SortUtils.getSortTitle(snapshot.get(i)));
+            }
+        }
+        return titleKeys;
+    }
+
+    private NaturalSortKey[] getNaturalKeys() {
+        if (naturalKeys == null) {
+            Collator collator = SortUtils.newTitleCollator();
+            naturalKeys = new NaturalSortKey[snapshot.size()];
+            for (int i = 0; i < naturalKeys.length; i++) {
+                naturalKeys[i] = NaturalSortKey.create(SortUtils.getSortTitle(snapshot.get(i)), collator);
+            }
+        }
+        return naturalKeys;
+    }
+
+    private static IndexComparator keyComparator(final long[] keys) {
+        return (a, b) -> Long.compare(keys[a], keys[b]);
+    }
+
+    /**
+     * Reverses an ascending permutation while keeping runs of equal keys in their original
+     * relative order, which is what a stable descending sort would produce.
+     */
+    static int[] reverseStable(int[] ascending, IndexComparator comparator) {
+        int n = ascending.length;
+        int[] reversed = new int[n];
+        int out = 0;
+        int end = n;
+        while (end > 0) {
+            int start = end - 1;
+            while (start > 0 && comparator.compare(ascending[start - 1], ascending[end - 1]) == 0) {
+                start--;
+            }
+            System.arraycopy(ascending, start, reversed, out, end - start);
+            out += end - start;
+            end = start;
+        }
+        return reversed;
+    }
+
+    // Stable top-down merge sort over primitive indices
+    static void mergeSort(int[] indices, IndexComparator comparator) {
+        if (indices.length < 2) return;
+        int[] buffer = indices.clone();
+        mergeSort(buffer, indices, 0, indices.length, comparator);
+    }
+
+    // Sorts src[from, to) into dest[from, to); both ranges start with the same contents
+    private static void mergeSort(int[] src, int[] dest, int from, int to, IndexComparator comparator) {
+        int length = to - from;
+        if (length < 7) {
+            for (int i = from + 1; i < to; i++) {
+                int value = dest[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(dest[j], value) > 0) {
+                    dest[j + 1] = dest[j];
+                    j--;
+                }
+                dest[j + 1] = value;
+            }
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        mergeSort(dest, src, from, mid, comparator);
+        mergeSort(dest, src, mid, to, comparator);
+
+        // Halves already in order
+        if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dest, from, length);
+            return;
+        }
+
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if (q >= to || (p < mid && comparator.compare(src[p], src[q]) <= 0)) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.nidoham.streamlyvid.utils;
 
 import com.nidoham.streamlyvid.model.VideoModel;
+import java.text.Collator;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Collections;
+import java.util.function.Function;
 
 public class SortUtils {
     
     public enum SortType {
         TITLE_ASC,
         TITLE_DESC,
+        TITLE_NATURAL_ASC,
+        TITLE_NATURAL_DESC,
         DATE_NEW_TO_OLD,
         DATE_OLD_TO_NEW,
         SIZE_LARGE_TO_SMALL,
@@ -24,28 +29,88 @@ public class SortUtils {
     public static void sortVideos(List<VideoModel> videos, SortType sortType) {
         if (videos == null || videos.isEmpty()) return;
 
+        if (sortType == SortType.TITLE_ASC || sortType == SortType.TITLE_DESC) {
+            sortByTitle(videos, sortType == SortType.TITLE_DESC, false);
+            return;
+        }
+        if (sortType == SortType.TITLE_NATURAL_ASC || sortType == SortType.TITLE_NATURAL_DESC) {
+            sortByTitle(videos, sortType == SortType.TITLE_NATURAL_DESC, true);
+            return;
+        }
+
         Comparator<VideoModel> comparator = getComparator(sortType);
         if (comparator != null) {
             Collections.sort(videos, comparator);
         }
     }
 
+    // First {@code count} videos in sortType order; the input list is not modified
+    public static List<VideoModel> topVideos(List<VideoModel> videos, SortType sortType, int count) {
+        if (videos == null || videos.isEmpty()) return new ArrayList<>();
+
+        Comparator<VideoModel> comparator = getComparator(sortType);
+        if (comparator != null) {
+            return TopK.select(videos, count, comparator);
+        }
+
+        // Title orders are keyed up front, so they take the full sort
+        List<VideoModel> sorted = new ArrayList<>(videos);
+        sortVideos(sorted, sortType);
+        return new ArrayList<>(sorted.subList(0, Math.min(count, sorted.size())));
+    }
+
+    // Locale-aware title order: ignores case but not accents, and follows the script's alphabet
+    public static Collator newTitleCollator() {
+        Collator collator = Collator.getInstance();
+        collator.setStrength(Collator.SECONDARY);
+        return collator;
+    }
+
+    public static String getSortTitle(VideoModel video) {
+        String title = video.getTitle() != null ? video.getTitle() : video.getDisplayName();
+        return title != null ? title : "";
+    }
+
+    // Keys every title once instead of collating (or tokenizing) both strings on each comparison
+    private static void sortByTitle(List<VideoModel> videos, boolean descending, boolean natural) {
+        Collator collator = newTitleCollator();
+        if (natural) {
+            sortByKey(videos, descending, video -> NaturalSortKey.create(getSortTitle(video), collator));
+        } else {
+            sortByKey(videos, descending, video -> collator.getCollationKey(getSortTitle(video)));
+        }
+    }
+
+    private static <K extends Comparable<K>> void sortByKey(List<VideoModel> videos, boolean descending,
+                                                            Function<VideoModel, K> keyFunction) {
+        List<KeyedVideo<K>> keyed = new ArrayList<>(videos.size());
+        for (VideoModel video : videos) {
+            keyed.add(new KeyedVideo<>(video, keyFunction.apply(video)));
+        }
+
+        if (descending) {
+            Collections.sort(keyed, (k1, k2) -> k2.key.compareTo(k1.key));
+        } else {
+            Collections.sort(keyed, (k1, k2) -> k1.key.compareTo(k2.key));
+        }
+
+        for (int i = 0; i < keyed.size(); i++) {
+            videos.set(i, keyed.get(i).video);
+        }
+    }
+
+    private static class KeyedVideo<K> {
+        final VideoModel video;
+        final K key;
+
+        KeyedVideo(VideoModel video, K key) {
+            this.video = video;
+            this.key = key;
+        }
+    }
+
     private static Comparator<VideoModel> getComparator(SortType sortType) {
         switch (sortType) {
-            case TITLE_ASC:
-                return (v1, v2) -> {
-                    String title1 = v1.getTitle() != null ? v1.getTitle() : v1.getDisplayName();
-                    String title2 = v2.getTitle() != null ? v2.getTitle() : v2.getDisplayName();
-                    return title1.compareToIgnoreCase(title2);
-                };
-                
-            case TITLE_DESC:
-                return (v1, v2) -> {
-                    String title1 = v1.getTitle() != null ? v1.getTitle() : v1.getDisplayName();
-                    String title2 = v2.getTitle() != null ? v2.getTitle() : v2.getDisplayName();
-                    return title2.compareToIgnoreCase(title1);
-                };
-                
             case DATE_NEW_TO_OLD:
                 return (v1, v2) -> Long.compare(v2.getDateAdded(), v1.getDateAdded());
                 
@@ -90,6 +155,8 @@ public class SortUtils {
         switch (sortType) {
             case TITLE_ASC: return "Title (A-Z)";
             case TITLE_DESC: return "Title (Z-A)";
+            case TITLE_NATURAL_ASC: return "Title (Natural A-Z)";
+            case TITLE_NATURAL_DESC: return "Title (Natural Z-A)";
             case DATE_NEW_TO_OLD: return "Date (New to Old)";
             case DATE_OLD_TO_NEW: return "Date (Old to New)";
             case SIZE_LARGE_TO_SMALL: return "Size (Large to Small)";
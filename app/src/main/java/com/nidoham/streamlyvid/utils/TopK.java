@@ -0,0 +1,83 @@
+package com.nidoham.streamlyvid.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Selects the first {@code k} elements of a list in comparator order without sorting the
+ * whole list: a bounded max-heap of indices keeps the best {@code k} seen so far, so the
+ * cost is O(n log k). Ties keep their input order, matching a stable sort.
+ */
+public class TopK {
+
+    private TopK() {}
+
+    // The input list is left untouched; the result is a new list in comparator order
+    public static <T> List<T> select(List<T> items, int k, Comparator<? super T> comparator) {
+        int n = items.size();
+        if (k <= 0 || n == 0) return new ArrayList<>();
+        k = Math.min(k, n);
+
+        // heap[0] is the worst of the kept elements
+        int[] heap = new int[k];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(items, heap, size, comparator);
+                size++;
+            } else if (isWorse(items, heap[0], i, comparator)) {
+                heap[0] = i;
+                siftDown(items, heap, size, comparator);
+            }
+        }
+
+        // Pop worst-first into the tail to get best-first order
+        List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(null);
+        }
+        for (int end = size - 1; end >= 0; end--) {
+            result.set(end, items.get(heap[0]));
+            heap[0] = heap[end];
+            siftDown(items, heap, end, comparator);
+        }
+        return result;
+    }
+
+    // True if the element at index a comes after the one at index b
+    private static <T> boolean isWorse(List<T> items, int a, int b, Comparator<? super T> comparator) {
+        int result = comparator.compare(items.get(a), items.get(b));
+        return result > 0 || (result == 0 && a > b);
+    }
+
+    private static <T> void siftUp(List<T> items, int[] heap, int position, Comparator<? super T> comparator) {
+        int index = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!isWorse(items, index, heap[parent], comparator)) break;
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = index;
+    }
+
+    private static <T> void siftDown(List<T> items, int[] heap, int size, Comparator<? super T> comparator) {
+        if (size == 0) return;
+        int index = heap[0];
+        int position = 0;
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && isWorse(items, heap[right], heap[child], comparator)) {
+                child = right;
+            }
+            if (!isWorse(items, heap[child], index, comparator)) break;
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = index;
+    }
+}
@@ -0,0 +1,149 @@
+package com.nidoham.streamlyvid.utils;
+
+/**
+ * Per-snapshot bitmap indexes over the categorical columns of a {@link VideoColumns}:
+ * one bitset per file extension, per folder and per resolution class. Bit {@code i}
+ * stands for row {@code i}, so combined categorical filters reduce to AND / OR / AND-NOT
+ * over {@code long[]} words.
+ */
+public final class VideoBitmapIndex {
+
+    // Cumulative "at least" classes, matching SearchFilter.createHDFilter / create4KFilter
+    public enum ResolutionClass {
+        SD(0, 0),
+        HD(1280, 720),
+        FHD(1920, 1080),
+        UHD_4K(3840, 2160);
+
+        public final int minWidth;
+        public final int minHeight;
+
+        ResolutionClass(int minWidth, int minHeight) {
+            this.minWidth = minWidth;
+            this.minHeight = minHeight;
+        }
+
+        // The class whose lower bound is exactly this, or null
+        public static ResolutionClass forMinimum(int minWidth, int minHeight) {
+            for (ResolutionClass resolutionClass : values()) {
+                if (resolutionClass.minWidth == minWidth && resolutionClass.minHeight == minHeight) {
+                    return resolutionClass;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final VideoColumns columns;
+    private final long[] all;
+    private final long[] none;
+    private final long[][] byExtension;
+    private final long[][] byFolder;
+    private final long[][] byResolution;
+
+    private VideoBitmapIndex(VideoColumns columns) {
+        this.columns = columns;
+        int n = columns.size;
+        int words = (n + 63) >>> 6;
+        all = new long[words];
+        for (int i = 0; i < n; i++) {
+            all[i >>> 6] |= 1L << i;
+        }
+        none = new long[words];
+
+        byExtension = new long[columns.extensions.length][words];
+        byFolder = new long[columns.folderNames.length][words];
+        ResolutionClass[] classes = ResolutionClass.values();
+        byResolution = new long[classes.length][words];
+
+        for (int i = 0; i < n; i++) {
+            int word = i >>> 6;
+            long bit = 1L << i;
+            if (columns.extensionOrdinals[i] >= 0) byExtension[columns.extensionOrdinals[i]][word] |= bit;
+            if (columns.folderOrdinals[i] >= 0) byFolder[columns.folderOrdinals[i]][word] |= bit;
+            for (ResolutionClass resolutionClass : classes) {
+                if (columns.widths[i] >= resolutionClass.minWidth && columns.heights[i] >= resolutionClass.minHeight) {
+                    byResolution[resolutionClass.ordinal()][word] |= bit;
+                }
+            }
+        }
+    }
+
+    public static VideoBitmapIndex of(VideoColumns columns) {
+        return new VideoBitmapIndex(columns);
+    }
+
+    public VideoColumns getColumns() { return columns; }
+
+    // Returned bitsets are shared; combine them with the static helpers, which copy
+    public long[] all() { return all; }
+
+    public long[] forExtension(String normalizedExtension) {
+        int ordinal = indexOf(columns.extensions, normalizedExtension);
+        return ordinal >= 0 ? byExtension[ordinal] : none;
+    }
+
+    public long[] forFolder(String folderName) {
+        int ordinal = indexOf(columns.folderNames, folderName);
+        return ordinal >= 0 ? byFolder[ordinal] : none;
+    }
+
+    public long[] atLeast(ResolutionClass resolutionClass) {
+        return byResolution[resolutionClass.ordinal()];
+    }
+
+    // Dictionaries hold a handful of distinct values, so a scan is enough
+    private static int indexOf(String[] values, String value) {
+        if (value == null) return -1;
+        for (int i = 0; i < values.length; i++) {
+            if (value.equals(values[i])) return i;
+        }
+        return -1;
+    }
+
+    public static long[] and(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] & b[i];
+        }
+        return result;
+    }
+
+    public static long[] or(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] | b[i];
+        }
+        return result;
+    }
+
+    public static long[] andNot(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] & ~b[i];
+        }
+        return result;
+    }
+
+    public static boolean contains(long[] bits, int row) {
+        return (bits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    // Set rows in ascending order
+    public static int[] toRows(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        int[] rows = new int[count];
+        int next = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                rows[next++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return rows;
+    }
+}
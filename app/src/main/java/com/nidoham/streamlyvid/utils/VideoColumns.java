@@ -0,0 +1,102 @@
+package com.nidoham.streamlyvid.utils;
+
+import com.nidoham.streamlyvid.model.VideoModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Struct-of-arrays copy of a library snapshot. Row {@code i} of every column describes
+ * {@code videos.get(i)}. Folder names and file extensions are interned into small
+ * dictionaries and stored as ordinals, so filters and sorts scan primitive arrays
+ * instead of chasing {@link VideoModel} objects across the heap.
+ */
+public final class VideoColumns {
+    public final int size;
+    public final long[] sizes;
+    public final long[] durations;
+    public final long[] dateAdded;
+    public final long[] lastPlayed;
+    public final int[] widths;
+    public final int[] heights;
+    public final long[] pixels;
+
+    // Ordinal into folderNames, or -1 if the video has no folder
+    public final int[] folderOrdinals;
+    public final String[] folderNames;
+
+    // Ordinal into extensions (lower-case ".ext"), or -1 if the name has no extension
+    public final int[] extensionOrdinals;
+    public final String[] extensions;
+
+    private VideoColumns(int size, long[] sizes, long[] durations, long[] dateAdded, long[] lastPlayed,
+                         int[] widths, int[] heights, long[] pixels,
+                         int[] folderOrdinals, String[] folderNames,
+                         int[] extensionOrdinals, String[] extensions) {
+        this.size = size;
+        this.sizes = sizes;
+        this.durations = durations;
+        this.dateAdded = dateAdded;
+        this.lastPlayed = lastPlayed;
+        this.widths = widths;
+        this.heights = heights;
+        this.pixels = pixels;
+        this.folderOrdinals = folderOrdinals;
+        this.folderNames = folderNames;
+        this.extensionOrdinals = extensionOrdinals;
+        this.extensions = extensions;
+    }
+
+    public static VideoColumns of(List<VideoModel> videos) {
+        int n = videos.size();
+        long[] sizes = new long[n];
+        long[] durations = new long[n];
+        long[] dateAdded = new long[n];
+        long[] lastPlayed = new long[n];
+        int[] widths = new int[n];
+        int[] heights = new int[n];
+        long[] pixels = new long[n];
+        int[] folderOrdinals = new int[n];
+        int[] extensionOrdinals = new int[n];
+        Map<String, Integer> folderIds = new HashMap<>();
+        List<String> folderNames = new ArrayList<>();
+        Map<String, Integer> extensionIds = new HashMap<>();
+        List<String> extensions = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            VideoModel video = videos.get(i);
+            sizes[i] = video.getSize();
+            durations[i] = video.getDuration();
+            dateAdded[i] = video.getDateAdded();
+            lastPlayed[i] = video.getLastPlayedTime();
+            widths[i] = video.getWidth();
+            heights[i] = video.getHeight();
+            pixels[i] = (long) widths[i] * heights[i];
+            folderOrdinals[i] = intern(video.getBucketDisplayName(), folderIds, folderNames);
+            extensionOrdinals[i] = intern(extensionOf(video.getDisplayName()), extensionIds, extensions);
+        }
+
+        return new VideoColumns(n, sizes, durations, dateAdded, lastPlayed, widths, heights, pixels,
+                folderOrdinals, folderNames.toArray(new String[0]),
+                extensionOrdinals, extensions.toArray(new String[0]));
+    }
+
+    private static int intern(String value, Map<String, Integer> ids, List<String> values) {
+        if (value == null) return -1;
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    private static String extensionOf(String displayName) {
+        if (displayName == null) return null;
+        int dot = displayName.lastIndexOf('.');
+        return dot >= 0 ? displayName.substring(dot).toLowerCase(Locale.ROOT) : null;
+    }
+}
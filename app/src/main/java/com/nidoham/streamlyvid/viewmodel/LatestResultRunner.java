@@ -0,0 +1,58 @@
+package com.nidoham.streamlyvid.viewmodel;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Runs background computations of which only the most recently submitted one may publish.
+ * Every submit bumps a generation; a result is handed to its publisher on the main thread
+ * only if no newer submit happened in the meantime. submit() and invalidate() must be
+ * called on the thread behind {@code mainThread}.
+ */
+final class LatestResultRunner<T> {
+
+    private final ExecutorService worker;
+    private final Executor mainThread;
+    private final Consumer<Exception> onError;
+    private int generation = 0;
+    private Future<?> pending;
+
+    LatestResultRunner(ExecutorService worker, Executor mainThread, Consumer<Exception> onError) {
+        this.worker = worker;
+        this.mainThread = mainThread;
+        this.onError = onError;
+    }
+
+    void submit(Callable<T> task, Consumer<T> publisher) {
+        final int taskGeneration = ++generation;
+        // A superseded task that has not started yet never needs to run
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = worker.submit(() -> {
+            try {
+                T result = task.call();
+                mainThread.execute(() -> {
+                    if (taskGeneration == generation) {
+                        publisher.accept(result);
+                    }
+                });
+            } catch (Exception e) {
+                onError.accept(e);
+            }
+        });
+    }
+
+    // Drops the result of any task already submitted
+    void invalidate() {
+        generation++;
+    }
+
+    void shutdown() {
+        invalidate();
+        worker.shutdownNow();
+    }
+}
@@ -1,11 +1,18 @@
 package com.nidoham.streamlyvid.viewmodel;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
 import com.nidoham.streamlyvid.database.RecentlyPlayedEntity;
 import com.nidoham.streamlyvid.model.FolderModel;
 import com.nidoham.streamlyvid.model.VideoModel;
@@ -13,17 +20,30 @@ import com.nidoham.streamlyvid.repository.VideoRepository;
 import com.nidoham.streamlyvid.utils.FilterUtils;
 import com.nidoham.streamlyvid.utils.SortUtils;
 import java.util.List;
+import java.util.concurrent.Executors;
 
 public class VideoViewModel extends AndroidViewModel {
+    private static final String TAG = "VideoViewModel";
+
     private final VideoRepository repository;
     private final MutableLiveData<SortUtils.SortType> currentSortType = new MutableLiveData<>(SortUtils.SortType.DATE_NEW_TO_OLD);
     private final MutableLiveData<FilterUtils.FilterCriteria> currentFilterCriteria = new MutableLiveData<>();
     private final MediatorLiveData<List<VideoModel>> filteredAndSortedVideos = new MediatorLiveData<>();
+    private final LiveData<PagingData<VideoModel>> pagedVideos;
+
+    // Sort/filter runs off the main thread; only the latest request's result is published
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LatestResultRunner<List<VideoModel>> sortFilterRunner = new LatestResultRunner<>(
+            Executors.newSingleThreadExecutor(), mainHandler::post,
+            e -> Log.e(TAG, "Error sorting and filtering videos", e));
 
     public VideoViewModel(@NonNull Application application) {
         super(application);
         repository = new VideoRepository(application);
         setupFilteredAndSortedVideos();
+        pagedVideos = Transformations.switchMap(currentSortType, sortType ->
+                PagingLiveData.cachedIn(repository.getPagedVideos(sortType), ViewModelKt.getViewModelScope(this)));
+        repository.startObservingLibrary();
     }
 
     private void setupFilteredAndSortedVideos() {
@@ -40,16 +60,17 @@ public class VideoViewModel extends AndroidViewModel {
         });
     }
 
+    // Called on the main thread; the generation and pending future are only touched there
     private void updateFilteredAndSortedVideos() {
         List<VideoModel> videos = repository.getAllVideos().getValue();
-        if (videos != null) {
-            List<VideoModel> result = repository.getSortedAndFilteredVideos(
-                videos, 
-                currentSortType.getValue(), 
-                currentFilterCriteria.getValue()
-            );
-            filteredAndSortedVideos.setValue(result);
-        }
+        if (videos == null) return;
+
+        SortUtils.SortType sortType = currentSortType.getValue();
+        FilterUtils.FilterCriteria filterCriteria = currentFilterCriteria.getValue();
+
+        sortFilterRunner.submit(
+                () -> repository.getSortedAndFilteredVideos(videos, sortType, filterCriteria),
+                filteredAndSortedVideos::setValue);
     }
 
     // Public methods for UI
@@ -61,6 +82,11 @@ public class VideoViewModel extends AndroidViewModel {
         return filteredAndSortedVideos;
     }
 
+    // Paged grid source; follows the current sort type
+    public LiveData<PagingData<VideoModel>> getPagedVideos() {
+        return pagedVideos;
+    }
+
     public LiveData<List<FolderModel>> getAllFolders() {
         return repository.getAllFolders();
     }
@@ -125,4 +151,15 @@ public class VideoViewModel extends AndroidViewModel {
     public void loadVideosByFolder(String bucketId, VideoRepository.VideoLoadCallback callback) {
         repository.loadVideosByFolder(bucketId, callback);
     }
+
+    public void loadVideosByFolder(String bucketId, SortUtils.SortType sortType, VideoRepository.VideoLoadCallback callback) {
+        repository.loadVideosByFolder(bucketId, sortType, callback);
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        repository.stopObservingLibrary();
+        sortFilterRunner.shutdown();
+    }
 }
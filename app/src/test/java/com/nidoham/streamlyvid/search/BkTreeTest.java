@@ -0,0 +1,103 @@
+package com.nidoham.streamlyvid.search;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+public class BkTreeTest {
+
+    @Test
+    public void removedTermIsHiddenButTermsBelowItStayReachable() {
+        BkTree tree = new BkTree();
+        for (String term : Arrays.asList("book", "books", "boo", "cook", "cake", "boon")) {
+            tree.add(term);
+        }
+
+        tree.remove("book");
+
+        assertEquals(setOf("books", "boo", "cook", "boon"), search(tree, "book", 1));
+        assertEquals(5, tree.size());
+        assertEquals(1, tree.removedCount());
+    }
+
+    @Test
+    public void addingRemovedTermRevivesIt() {
+        BkTree tree = new BkTree();
+        tree.add("book");
+        tree.add("cook");
+        tree.remove("book");
+        tree.add("book");
+
+        assertEquals(setOf("book", "cook"), search(tree, "book", 1));
+        assertEquals(2, tree.size());
+        assertEquals(0, tree.removedCount());
+    }
+
+    @Test
+    public void matchesBruteForceAfterRandomRemovals() {
+        Random random = new Random(7);
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            terms.add(randomWord(random));
+        }
+        BkTree tree = new BkTree();
+        Set<String> live = new HashSet<>();
+        for (String term : terms) {
+            tree.add(term);
+            live.add(term);
+        }
+        Collections.shuffle(terms, random);
+        for (String term : terms.subList(0, 200)) {
+            tree.remove(term);
+            live.remove(term);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            String word = randomWord(random);
+            Set<String> expected = new HashSet<>();
+            for (String term : live) {
+                if (levenshtein(word, term) <= 2) expected.add(term);
+            }
+            assertEquals(expected, search(tree, word, 2));
+        }
+        assertEquals(live.size(), tree.size());
+    }
+
+    private static Set<String> search(BkTree tree, String word, int maxDistance) {
+        Set<String> out = new HashSet<>();
+        tree.search(word, maxDistance, out);
+        return out;
+    }
+
+    private static Set<String> setOf(String... terms) {
+        return new HashSet<>(Arrays.asList(terms));
+    }
+
+    private static String randomWord(Random random) {
+        char[] chars = new char[3 + random.nextInt(5)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(6));
+        }
+        return new String(chars);
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,150 @@
+package com.nidoham.streamlyvid.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.nidoham.streamlyvid.database.RecentlyPlayedEntity;
+import com.nidoham.streamlyvid.model.VideoModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class RelevanceScorerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final Runnable NO_CHECK = () -> {};
+
+    @Test
+    public void exactBeatsPrefix() {
+        List<String> ranked = rank("office", Collections.emptyMap(),
+                video(1, "Office Party"), video(2, "office"));
+
+        assertEquals(Arrays.asList("office", "Office Party"), ranked);
+    }
+
+    @Test
+    public void prefixBeatsWordBoundaryBeatsInfix() {
+        List<String> ranked = rank("office", Collections.emptyMap(),
+                video(1, "Backoffice tour"), video(2, "The Office S01"), video(3, "Office Party"));
+
+        assertEquals(Arrays.asList("Office Party", "The Office S01", "Backoffice tour"), ranked);
+    }
+
+    @Test
+    public void titleMatchBeatsFolderMatch() {
+        VideoModel inFolder = video(1, "Holiday");
+        inFolder.setBucketDisplayName("Office");
+        List<String> ranked = rank("office", Collections.emptyMap(), inFolder, video(2, "The Office S01"));
+
+        assertEquals(Arrays.asList("The Office S01", "Holiday"), ranked);
+    }
+
+    @Test
+    public void recentPlayOutranksOldPlayOfEqualMatch() {
+        Map<Long, RecentlyPlayedEntity> stats = new HashMap<>();
+        stats.put(1L, played(1, NOW - 60 * DAY_MS, 3));
+        stats.put(2L, played(2, NOW - DAY_MS, 3));
+
+        List<String> ranked = rank("office", stats, video(1, "Office A"), video(2, "Office B"));
+
+        assertEquals(Arrays.asList("Office B", "Office A"), ranked);
+    }
+
+    @Test
+    public void recencyBoostHalvesEveryTwoWeeks() {
+        VideoModel video = video(1, "Office Party");
+        double base = new RelevanceScorer("office", Collections.emptyMap(), NOW).score(video);
+
+        double today = boost(video, base, 0);
+        double twoWeeks = boost(video, base, 14);
+        double fourWeeks = boost(video, base, 28);
+        // The play-count part is the same at every age; only the recency part decays
+        double countPart = 1.5 * Math.log1p(1);
+
+        assertEquals(3.0, today - countPart, 1e-9);
+        assertEquals(1.5, twoWeeks - countPart, 1e-9);
+        assertEquals(0.75, fourWeeks - countPart, 1e-9);
+    }
+
+    @Test
+    public void playBoostDoesNotOverrideBetterTextMatch() {
+        Map<Long, RecentlyPlayedEntity> stats = new HashMap<>();
+        stats.put(1L, played(1, NOW, 50));
+
+        List<String> ranked = rank("office", stats, video(1, "Backoffice tour"), video(2, "Office Party"));
+
+        assertEquals(Arrays.asList("Office Party", "Backoffice tour"), ranked);
+    }
+
+    @Test
+    public void tiesFollowTitleCollatorWhateverTheInputOrder() {
+        // Equal prefix scores; the collator ignores case, unlike String.compareTo
+        List<String> expected = Arrays.asList("Office a", "office b", "office C", "Office d");
+        List<VideoModel> videos = new ArrayList<>();
+        for (int i = 0; i < expected.size(); i++) {
+            videos.add(video(i + 1, expected.get(i)));
+        }
+
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            Collections.shuffle(videos, random);
+            assertEquals(expected, rank("office", Collections.emptyMap(),
+                    videos.toArray(new VideoModel[0])));
+        }
+    }
+
+    @Test
+    public void emptyQueryKeepsTitleOrderAndIgnoresPlays() {
+        Map<Long, RecentlyPlayedEntity> stats = new HashMap<>();
+        stats.put(3L, played(3, NOW, 10));
+
+        List<String> ranked = rank("", stats, video(1, "beta"), video(2, "Alpha"), video(3, "gamma"));
+
+        assertEquals(Arrays.asList("Alpha", "beta", "gamma"), ranked);
+    }
+
+    @Test
+    public void checkpointRunsForEveryHit() {
+        int[] calls = {0};
+        new RelevanceScorer("office", Collections.emptyMap(), NOW)
+                .rank(Arrays.asList(video(1, "Office"), video(2, "Backoffice")), () -> calls[0]++);
+
+        assertTrue(calls[0] >= 2);
+    }
+
+    private static double boost(VideoModel video, double base, int ageDays) {
+        Map<Long, RecentlyPlayedEntity> stats = new HashMap<>();
+        stats.put(video.getId(), played(video.getId(), NOW - ageDays * DAY_MS, 1));
+        return new RelevanceScorer("office", stats, NOW).score(video) - base;
+    }
+
+    private static List<String> rank(String query, Map<Long, RecentlyPlayedEntity> stats, VideoModel... videos) {
+        List<String> titles = new ArrayList<>();
+        for (VideoModel video : new RelevanceScorer(query, stats, NOW).rank(Arrays.asList(videos), NO_CHECK)) {
+            titles.add(video.getTitle());
+        }
+        return titles;
+    }
+
+    private static VideoModel video(long id, String title) {
+        VideoModel video = new VideoModel();
+        video.setId(id);
+        video.setTitle(title);
+        video.setDisplayName("clip" + id + ".mp4");
+        return video;
+    }
+
+    private static RecentlyPlayedEntity played(long videoId, long lastPlayed, int playCount) {
+        RecentlyPlayedEntity entity = new RecentlyPlayedEntity();
+        entity.setVideoId(videoId);
+        entity.setLastPlayedTime(lastPlayed);
+        entity.setPlayCount(playCount);
+        return entity;
+    }
+}
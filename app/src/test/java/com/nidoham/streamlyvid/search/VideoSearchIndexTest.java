@@ -0,0 +1,59 @@
+package com.nidoham.streamlyvid.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.nidoham.streamlyvid.model.VideoModel;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class VideoSearchIndexTest {
+
+    @Test
+    public void punctuationOnlyQueryMatchesNothing() {
+        VideoModel video = video(1, "The Office - S01");
+        VideoSearchIndex index = new VideoSearchIndex();
+        index.update(Arrays.asList(video, video(2, "Big Buck Bunny")));
+
+        for (String query : Arrays.asList("-", "!!!", "_", " . ")) {
+            assertTrue(query, index.search(query).isEmpty());
+            assertTrue(query, index.searchFuzzy(query, 2).isEmpty());
+            assertFalse(query, index.matches(video, query));
+        }
+    }
+
+    @Test
+    public void tokenQueryStillMatches() {
+        VideoSearchIndex index = new VideoSearchIndex();
+        index.update(Arrays.asList(video(1, "The Office - S01"), video(2, "Big Buck Bunny")));
+
+        assertEquals(1, index.search("off!").size());
+        assertEquals(1, index.searchFuzzy("bunyy", 2).size());
+    }
+
+    @Test
+    public void fuzzySearchForgetsTermsOfRemovedVideos() {
+        VideoModel office = video(1, "Office Party");
+        VideoModel bunny = video(2, "Big Buck Bunny");
+        VideoSearchIndex index = new VideoSearchIndex();
+        index.update(Arrays.asList(office, bunny));
+        index.prepareFuzzy();
+
+        index.update(Arrays.asList(bunny));
+
+        assertTrue(index.searchFuzzy("offise", 2).isEmpty());
+        assertEquals(Arrays.asList(bunny), index.searchFuzzy("bunyy", 2));
+
+        index.update(Arrays.asList(office, bunny));
+        assertEquals(Arrays.asList(office), index.searchFuzzy("offise", 2));
+    }
+
+    private static VideoModel video(long id, String title) {
+        VideoModel video = new VideoModel();
+        video.setId(id);
+        video.setTitle(title);
+        video.setDisplayName("clip" + id + ".mp4");
+        return video;
+    }
+}
@@ -0,0 +1,136 @@
+package com.nidoham.streamlyvid.viewmodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LatestResultRunnerTest {
+
+    // Stands in for the main looper; drained on the test thread
+    private final Queue<Runnable> mainQueue = new ConcurrentLinkedQueue<>();
+    private final List<Exception> errors = Collections.synchronizedList(new ArrayList<>());
+    private ExecutorService worker;
+    private LatestResultRunner<Integer> runner;
+
+    @Before
+    public void setUp() {
+        // Several threads so later tasks can finish before earlier ones
+        worker = Executors.newFixedThreadPool(3);
+        runner = new LatestResultRunner<>(worker, mainQueue::add, errors::add);
+    }
+
+    @After
+    public void tearDown() {
+        worker.shutdownNow();
+    }
+
+    @Test
+    public void onlyLatestSubmitPublishesWhenResultsArriveOutOfOrder() throws Exception {
+        List<Integer> published = new ArrayList<>();
+        CountDownLatch[] release = {new CountDownLatch(1), new CountDownLatch(1), new CountDownLatch(1)};
+
+        for (int i = 0; i < 3; i++) {
+            final int sort = i;
+            CountDownLatch started = new CountDownLatch(1);
+            runner.submit(() -> {
+                started.countDown();
+                release[sort].await();
+                return sort;
+            }, published::add);
+            // Already running, so the next submit can only drop its result, not skip it
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        }
+
+        // The newest sort finishes first, the older ones after it
+        release[2].countDown();
+        release[0].countDown();
+        release[1].countDown();
+        worker.shutdown();
+        assertTrue(worker.awaitTermination(5, TimeUnit.SECONDS));
+        drainMainQueue();
+
+        assertEquals(Arrays.asList(2), published);
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void eachSubmitPublishesWhenNotSuperseded() throws Exception {
+        List<Integer> published = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final int sort = i;
+            CountDownLatch done = new CountDownLatch(1);
+            runner.submit(() -> sort, result -> {
+                published.add(result);
+                done.countDown();
+            });
+            awaitPublish(done);
+        }
+
+        assertEquals(Arrays.asList(0, 1, 2), published);
+    }
+
+    @Test
+    public void invalidateDropsRunningResult() throws Exception {
+        List<Integer> published = new ArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        runner.submit(() -> {
+            started.countDown();
+            release.await();
+            return 1;
+        }, published::add);
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        runner.invalidate();
+        release.countDown();
+        worker.shutdown();
+        assertTrue(worker.awaitTermination(5, TimeUnit.SECONDS));
+        drainMainQueue();
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    public void failuresGoToErrorHandler() throws Exception {
+        List<Integer> published = new ArrayList<>();
+        runner.submit(() -> {
+            throw new IllegalStateException("sort failed");
+        }, published::add);
+
+        worker.shutdown();
+        assertTrue(worker.awaitTermination(5, TimeUnit.SECONDS));
+        drainMainQueue();
+
+        assertTrue(published.isEmpty());
+        assertEquals(1, errors.size());
+    }
+
+    private void awaitPublish(CountDownLatch published) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (published.getCount() > 0 && System.nanoTime() < deadline) {
+            drainMainQueue();
+            Thread.sleep(1);
+        }
+        assertEquals(0, published.getCount());
+    }
+
+    private void drainMainQueue() {
+        Runnable task;
+        while ((task = mainQueue.poll()) != null) {
+            task.run();
+        }
+    }
+}